@@ -0,0 +1,35 @@
+package com.alecalbright.skyrimbuildanalyzer.benchmark;
+
+import java.util.List;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.repository.ArmorRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.EnemyRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.WeaponRepository;
+
+// Fighters built from the bundled repository data, the same way the services build them,
+// so benchmark numbers don't depend on a snapshot file or a UESP scrape.
+final class BenchmarkFixtures {
+
+    // A dungeon run from trash mobs up to a chief, winnable by every archetype often enough
+    // that encounters usually go past the first fight
+    static final List<String> GAUNTLET = List.of(
+        "Bandit", "Wolf", "Draugr", "Bandit Outlaw", "Restless Draugr", "Bandit Chief");
+
+    final WeaponRepository weapons = new WeaponRepository(false);
+    final ArmorRepository armor = new ArmorRepository();
+    final EnemyRepository enemies = new EnemyRepository(false);
+
+    Character archetype(CharacterArchetype archetype){
+        return archetype.create(weapons, armor);
+    }
+
+    Character enemy(String name){
+        return enemies.getEnemyByName(name).toCharacter(weapons, armor);
+    }
+
+    List<Character> gauntlet(){
+        return GAUNTLET.stream().map(this::enemy).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.alecalbright.skyrimbuildanalyzer.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.simulation.CombatSimulator;
+import com.alecalbright.skyrimbuildanalyzer.simulation.FightResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
+
+// Single fights on both paths, seeded batches at several sizes, and the per-fighter damage
+// lookup the encounter and enemy-tournament loops call for every fight.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CombatSimulatorBenchmark {
+
+    private final CombatSimulator simulator = new CombatSimulator();
+
+    private Character warrior;
+    private Character archer;
+    private FighterTemplate warriorTemplate;
+    private FighterTemplate archerTemplate;
+    private FightResult recordedFight;
+    private long seed;
+
+    @State(Scope.Thread)
+    public static class Batch {
+        @Param({"100", "1000", "10000", "100000"})
+        int fights;
+    }
+
+    @Setup
+    public void setUp(){
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+        warrior = fixtures.archetype(CharacterArchetype.TWO_HANDED_WARRIOR);
+        archer = fixtures.archetype(CharacterArchetype.STEALTH_ARCHER);
+        warriorTemplate = FighterTemplate.of(warrior);
+        archerTemplate = FighterTemplate.of(archer);
+        recordedFight = simulator.simulateFight(warrior, archer, 42L);
+    }
+
+    // The public entry point: builds templates from the characters and records the event log
+    @Benchmark
+    public FightResult simulateFight(){
+        return simulator.simulateFight(warrior, archer, seed++);
+    }
+
+    // What tournaments and encounters run: shared templates, tallies only
+    @Benchmark
+    public FightResult simulateFightFromTemplates(){
+        return simulator.simulateFight(
+            warriorTemplate.newState(), archerTemplate.newState(), new SplittableRandom(seed++), false);
+    }
+
+    @Benchmark
+    public MultiSimulationResult simulateMultipleFights(Batch batch){
+        return simulator.simulateMultipleFights(warriorTemplate, archerTemplate, batch.fights, seed++);
+    }
+
+    @Benchmark
+    public double getTotalDamageByFighter(){
+        return recordedFight.getTotalDamageByFighter(archer.getName());
+    }
+}
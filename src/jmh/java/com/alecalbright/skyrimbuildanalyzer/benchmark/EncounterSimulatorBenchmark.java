@@ -0,0 +1,59 @@
+package com.alecalbright.skyrimbuildanalyzer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.simulation.CombatSimulator;
+import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterSimulator;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EncounterSimulatorBenchmark {
+
+    private final EncounterSimulator simulator = new EncounterSimulator(new CombatSimulator());
+
+    private Character paladin;
+    private List<Character> gauntlet;
+    private FighterTemplate paladinTemplate;
+    private List<FighterTemplate> gauntletTemplates;
+
+    @Setup
+    public void setUp(){
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+        paladin = fixtures.archetype(CharacterArchetype.PALADIN);
+        gauntlet = fixtures.gauntlet();
+        paladinTemplate = FighterTemplate.of(paladin);
+        gauntletTemplates = gauntlet.stream().map(FighterTemplate::of).toList();
+    }
+
+    // Compiles templates from the characters on every call
+    @Benchmark
+    public EncounterResult simulate(){
+        return simulator.simulate(paladin, gauntlet);
+    }
+
+    // The /encounter endpoint's path, with templates from the fighter catalog
+    @Benchmark
+    public EncounterResult simulateFromTemplates(){
+        return simulator.simulate(paladinTemplate, gauntletTemplates);
+    }
+}
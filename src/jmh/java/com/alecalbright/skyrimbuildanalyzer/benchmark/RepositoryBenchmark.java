@@ -0,0 +1,93 @@
+package com.alecalbright.skyrimbuildanalyzer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Armor;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorWeight;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyCategory;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.Shield;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+// The lookups behind fighter construction and the /enemies and /fighters listings,
+// all served from the published repository snapshots.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    private BenchmarkFixtures fixtures;
+
+    @Setup
+    public void setUp(){
+        fixtures = new BenchmarkFixtures();
+        // First use loads the bundled data; keep that out of the measurement
+        fixtures.weapons.getWeaponCount();
+        fixtures.armor.getAllArmor();
+        fixtures.enemies.getAllEnemies();
+    }
+
+    @Benchmark
+    public Weapon getWeapon(){
+        return fixtures.weapons.getWeapon("Daedric Greatsword");
+    }
+
+    @Benchmark
+    public List<Weapon> getWeaponsByType(){
+        return fixtures.weapons.getWeaponsByType(WeaponType.ONE_HANDED_SWORD);
+    }
+
+    @Benchmark
+    public Weapon getBestWeaponByType(){
+        return fixtures.weapons.getBestWeaponByType(WeaponType.BOW);
+    }
+
+    @Benchmark
+    public Armor getBestArmorByWeightAndTier(){
+        return fixtures.armor.getBestArmorByWeightAndTier(ArmorWeight.HEAVY, 3);
+    }
+
+    @Benchmark
+    public Shield getBestShieldByWeight(){
+        return fixtures.armor.getBestShieldByWeight(ArmorWeight.HEAVY);
+    }
+
+    @Benchmark
+    public EnemyDefinition getEnemyByName(){
+        return fixtures.enemies.getEnemyByName("Draugr Deathlord");
+    }
+
+    @Benchmark
+    public List<EnemyDefinition> getEnemiesByCategory(){
+        return fixtures.enemies.getEnemiesByCategory(EnemyCategory.DRAUGR);
+    }
+
+    @Benchmark
+    public List<String> getEnemyNames(){
+        return fixtures.enemies.getEnemyNames();
+    }
+
+    // Every lookup an archetype makes to equip itself
+    @Benchmark
+    public Character createArchetype(){
+        return CharacterArchetype.PALADIN.create(fixtures.weapons, fixtures.armor);
+    }
+}
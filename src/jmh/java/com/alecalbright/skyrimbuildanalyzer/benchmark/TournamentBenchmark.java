@@ -0,0 +1,69 @@
+package com.alecalbright.skyrimbuildanalyzer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alecalbright.skyrimbuildanalyzer.SkyrimBuildAnalyzerApplication;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// Full round robins through the service, wired by Spring as the app runs them. The tournament
+// cache and matchup matrix are switched off so every call simulates every pair.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TournamentBenchmark {
+
+    @Param({"false", "true"})
+    boolean includeEnemies;
+
+    @Param({"1000"})
+    int fightsPerMatchup;
+
+    private ConfigurableApplicationContext context;
+    private ArchetypeMatchupService service;
+
+    @Setup
+    public void setUp(){
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(SkyrimBuildAnalyzerApplication.class)
+            .web(WebApplicationType.NONE)
+            // Command-line arguments, since builder properties lose to application.properties
+            .run(
+                "--simulation.data.snapshot-path=",
+                "--simulation.store.path=",
+                "--simulation.tournament.cache.max-entries=0",
+                "--simulation.matrix.max-cells=0");
+        service = context.getBean(ArchetypeMatchupService.class);
+    }
+
+    @TearDown
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public List<MatchupResult> runFullTournament(){
+        return service.runFullTournament(fightsPerMatchup, includeEnemies, 42L, SimulationMode.MONTE_CARLO);
+    }
+}
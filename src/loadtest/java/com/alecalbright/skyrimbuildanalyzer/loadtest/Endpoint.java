@@ -0,0 +1,75 @@
+package com.alecalbright.skyrimbuildanalyzer.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+
+// The analytics calls the driver replays. Each one draws its parameters at random, so a run
+// touches every archetype and enemy instead of hammering one warm code path.
+enum Endpoint {
+    // One archetype against another, at the controller's default batch size
+    MATCHUP {
+        @Override
+        String pathAndQuery(SplittableRandom random, List<String> enemies){
+            CharacterArchetype[] archetypes = CharacterArchetype.values();
+            int first = random.nextInt(archetypes.length);
+            int second = (first + 1 + random.nextInt(archetypes.length - 1)) % archetypes.length;
+            return "/analytics/matchup?a1=" + archetypes[first].name()
+                + "&a2=" + archetypes[second].name() + "&fights=500";
+        }
+    },
+    // A random archetype through a run of three to six random enemies
+    ENCOUNTER {
+        @Override
+        String pathAndQuery(SplittableRandom random, List<String> enemies){
+            List<String> pool = new ArrayList<>(enemies);
+            List<String> picked = new ArrayList<>();
+            int count = Math.min(pool.size(), 3 + random.nextInt(4));
+            for (int i = 0; i < count; i++) {
+                picked.add(pool.remove(random.nextInt(pool.size())));
+            }
+            return "/analytics/encounter?archetype=" + randomArchetype(random).name()
+                + "&enemies=" + encode(String.join(",", picked)) + "&fights=100";
+        }
+    },
+    // A fresh seed every call, so each request plays the whole round robin instead of
+    // being answered from the tournament cache
+    TOURNAMENT {
+        @Override
+        String pathAndQuery(SplittableRandom random, List<String> enemies){
+            return "/analytics/tournament?fights=100&seed=" + random.nextLong();
+        }
+    },
+    DAMAGE {
+        @Override
+        String pathAndQuery(SplittableRandom random, List<String> enemies){
+            return "/analytics/damage?archetype=" + randomArchetype(random).name();
+        }
+    };
+
+    abstract String pathAndQuery(SplittableRandom random, List<String> enemies);
+
+    String label(){
+        return name().toLowerCase();
+    }
+
+    static Endpoint fromName(String name){
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label().equalsIgnoreCase(name)) return endpoint;
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + name + "' in --mix");
+    }
+
+    private static CharacterArchetype randomArchetype(SplittableRandom random){
+        CharacterArchetype[] archetypes = CharacterArchetype.values();
+        return archetypes[random.nextInt(archetypes.length)];
+    }
+
+    private static String encode(String value){
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alecalbright.skyrimbuildanalyzer.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latencies and failures for one endpoint over the measured window. Every response, 2xx or
+// not, adds its latency; requests that never got a response (timeouts, refused connections,
+// drops at the in-flight limit) only count as errors, since they have no latency to report.
+//
+// Samples are kept whole rather than bucketed, so percentiles are exact. A minute at a few
+// hundred requests per second is well under a megabyte.
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int requests;
+    private int errors;
+    private final Map<String, Integer> errorsByCause = new TreeMap<>();
+
+    synchronized void recordResponse(int status, long latencyNanos){
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        requests++;
+        if (status >= 400) {
+            fail("HTTP " + status);
+        }
+    }
+
+    synchronized void recordFailure(String cause){
+        requests++;
+        fail(cause);
+    }
+
+    synchronized Summary summarize(double seconds){
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Summary(
+            requests,
+            errors,
+            requests / seconds,
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.95),
+            percentile(sorted, 0.99),
+            percentile(sorted, 0.999),
+            sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+            Map.copyOf(errorsByCause)
+        );
+    }
+
+    // Folds several endpoints' samples into one, for the overall row
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders){
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                merged.latencies = Arrays.copyOf(merged.latencies, merged.count + recorder.count);
+                System.arraycopy(recorder.latencies, 0, merged.latencies, merged.count, recorder.count);
+                merged.count += recorder.count;
+                merged.requests += recorder.requests;
+                merged.errors += recorder.errors;
+                recorder.errorsByCause.forEach((cause, n) -> merged.errorsByCause.merge(cause, n, Integer::sum));
+            }
+        }
+        return merged;
+    }
+
+    private void fail(String cause){
+        errors++;
+        errorsByCause.merge(cause, 1, Integer::sum);
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double quantile){
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+    }
+
+    record Summary(
+        int requests,
+        int errors,
+        double throughput,
+        double p50,
+        double p95,
+        double p99,
+        double p999,
+        double max,
+        Map<String, Integer> errorsByCause
+    ) {
+        double errorRate(){
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.alecalbright.skyrimbuildanalyzer.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Options for one load run, parsed from --name=value arguments. Anything left out takes the
+// default below; an unknown option is an error rather than a silently ignored typo.
+record LoadConfig(
+    URI baseUrl,
+    double rate,
+    Duration duration,
+    Duration warmup,
+    Map<Endpoint, Integer> mix,
+    Duration timeout,
+    int maxInFlight,
+    long seed,
+    double maxErrorRate,
+    double maxP99Millis
+) {
+
+    static final String USAGE = """
+        Options (all optional):
+          --base-url=http://localhost:8080   app to drive
+          --rate=50                          requests per second, spread evenly
+          --duration=30                      measured seconds
+          --warmup=10                        seconds sent before measuring, not reported
+          --mix=matchup:50,encounter:25,tournament:5,damage:20
+                                             relative weight of each endpoint
+          --timeout=10                       seconds before a request counts as failed
+          --max-in-flight=512                requests past this are dropped and counted as errors
+          --seed=42                          seeds the request mix and parameters
+          --max-error-rate=0.01              exit 1 if the overall error rate is higher
+          --max-p99=0                        exit 1 if the overall p99 in ms is higher (0 = no limit)
+        """;
+
+    static LoadConfig parse(String[] args){
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+
+        LoadConfig config = new LoadConfig(
+            URI.create(stripTrailingSlash(options.getOrDefault("base-url", "http://localhost:8080"))),
+            Double.parseDouble(options.getOrDefault("rate", "50")),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+            parseMix(options.getOrDefault("mix", "matchup:50,encounter:25,tournament:5,damage:20")),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10"))),
+            Integer.parseInt(options.getOrDefault("max-in-flight", "512")),
+            Long.parseLong(options.getOrDefault("seed", "42")),
+            Double.parseDouble(options.getOrDefault("max-error-rate", "0.01")),
+            Double.parseDouble(options.getOrDefault("max-p99", "0"))
+        );
+
+        for (String name : options.keySet()) {
+            if (!USAGE.contains("--" + name + "=")) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (config.duration.isZero() || config.duration.isNegative()) {
+            throw new IllegalArgumentException("--duration must be positive");
+        }
+        if (config.maxInFlight < 1) {
+            throw new IllegalArgumentException("--max-in-flight must be at least 1");
+        }
+        return config;
+    }
+
+    // e.g. matchup:50,encounter:25,tournament:5,damage:20; endpoints left out are never called
+    private static Map<Endpoint, Integer> parseMix(String spec){
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in --mix but got " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights can't be negative: " + part);
+            }
+            if (weight > 0) {
+                mix.put(Endpoint.fromName(entry[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one endpoint with a positive weight");
+        }
+        return mix;
+    }
+
+    private static String stripTrailingSlash(String url){
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,210 @@
+package com.alecalbright.skyrimbuildanalyzer.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Replays a weighted mix of analytics calls against a running app at a fixed arrival rate and
+// reports latency percentiles, error rates and throughput per endpoint:
+//
+//   mvn -Pload-test -DskipTests test-compile exec:exec -Dload.args="--rate=100 --duration=60"
+//
+// The schedule is open-loop: request i is due at start + i / rate whether or not earlier ones
+// have come back, and its latency is measured from when it was due rather than when it went
+// out. A closed loop that waits for each response would slow down with the server and hide
+// exactly the queueing delay a capacity test is looking for.
+public final class LoadDriver {
+
+    private final LoadConfig config;
+    private final HttpClient client;
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+    private final AtomicLong maxDispatchLag = new AtomicLong();
+
+    LoadDriver(LoadConfig config){
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(config.timeout())
+            .build();
+        for (Endpoint endpoint : config.mix().keySet()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config;
+        try {
+            config = LoadConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        LoadDriver driver = new LoadDriver(config);
+        List<String> enemies;
+        try {
+            enemies = driver.fetchEnemyNames();
+        } catch (IOException e) {
+            System.err.println("Can't reach the app at " + config.baseUrl() + ": " + e);
+            System.exit(2);
+            return;
+        }
+
+        driver.run(enemies);
+        System.exit(driver.report() ? 0 : 1);
+    }
+
+    // Encounters need real enemy names, so take them from the app rather than a copy that can drift
+    List<String> fetchEnemyNames() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(config.baseUrl().resolve("/analytics/fighters?includeEnemies=true"))
+            .timeout(config.timeout())
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("/analytics/fighters returned HTTP " + response.statusCode());
+        }
+
+        List<String> names = new ArrayList<>();
+        for (JsonNode name : new ObjectMapper().readTree(response.body()).path("enemies")) {
+            names.add(name.asText());
+        }
+        if (names.isEmpty()) {
+            throw new IOException("/analytics/fighters listed no enemies");
+        }
+        return names;
+    }
+
+    void run(List<String> enemies){
+        SplittableRandom random = new SplittableRandom(config.seed());
+        Endpoint[] wheel = weightedWheel(config.mix());
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+
+        double nanosPerRequest = 1_000_000_000.0 / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        System.out.printf(Locale.ROOT, "Driving %s at %.1f req/s: %d s warm-up, then %d s measured%n",
+            config.baseUrl(), config.rate(), config.warmup().toSeconds(), config.duration().toSeconds());
+
+        // Closing the executor waits for every request still in flight
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + Math.round(i * nanosPerRequest);
+                if (due >= end) break;
+                parkUntil(due);
+
+                Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+                URI uri = URI.create(config.baseUrl() + endpoint.pathAndQuery(random, enemies));
+                // Warm-up requests still load the server, they just aren't reported
+                LatencyRecorder recorder = due >= measureFrom ? recorders.get(endpoint) : null;
+
+                if (!inFlight.tryAcquire()) {
+                    if (recorder != null) recorder.recordFailure("dropped at in-flight limit");
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        send(uri, due, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(URI uri, long due, LatencyRecorder recorder){
+        if (recorder != null) maxDispatchLag.accumulateAndGet(System.nanoTime() - due, Math::max);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(config.timeout()).build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (recorder != null) recorder.recordResponse(response.statusCode(), System.nanoTime() - due);
+        } catch (HttpTimeoutException e) {
+            if (recorder != null) recorder.recordFailure("timed out");
+        } catch (IOException e) {
+            if (recorder != null) recorder.recordFailure(e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Prints the results and returns whether the run stayed within --max-error-rate and --max-p99
+    boolean report(){
+        double seconds = config.duration().toNanos() / 1_000_000_000.0;
+        Map<String, LatencyRecorder.Summary> rows = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> rows.put(endpoint.label(), recorder.summarize(seconds)));
+        LatencyRecorder.Summary overall = LatencyRecorder.merge(recorders.values()).summarize(seconds);
+        rows.put("all", overall);
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-12s %9s %7s %8s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "error %", "req/s", "p50", "p95", "p99", "p99.9", "max");
+        rows.forEach((name, s) -> System.out.printf(Locale.ROOT,
+            "%-12s %9d %7d %8.2f %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            name, s.requests(), s.errors(), s.errorRate() * 100, s.throughput(),
+            s.p50(), s.p95(), s.p99(), s.p999(), s.max()));
+        System.out.println("Latencies in ms, from each request's scheduled start to its last response byte.");
+
+        rows.forEach((name, s) -> {
+            if (!name.equals("all") && !s.errorsByCause().isEmpty()) {
+                System.out.println("  " + name + " errors: " + s.errorsByCause());
+            }
+        });
+
+        // A driver that can't keep to its own schedule is measuring itself, not the server
+        double lagMillis = maxDispatchLag.get() / 1_000_000.0;
+        if (lagMillis > 50) {
+            System.out.printf(Locale.ROOT,
+                "Warning: requests went out up to %.1f ms late; the load machine is saturated%n", lagMillis);
+        }
+
+        boolean passed = true;
+        if (overall.errorRate() > config.maxErrorRate()) {
+            System.out.printf(Locale.ROOT, "FAILED: error rate %.2f%% is above %.2f%%%n",
+                overall.errorRate() * 100, config.maxErrorRate() * 100);
+            passed = false;
+        }
+        if (config.maxP99Millis() > 0 && overall.p99() > config.maxP99Millis()) {
+            System.out.printf(Locale.ROOT, "FAILED: p99 %.1f ms is above %.1f ms%n",
+                overall.p99(), config.maxP99Millis());
+            passed = false;
+        }
+        return passed;
+    }
+
+    // One slot per unit of weight, so a uniform draw picks endpoints in proportion to the mix
+    private static Endpoint[] weightedWheel(Map<Endpoint, Integer> mix){
+        List<Endpoint> wheel = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) wheel.add(endpoint);
+        });
+        return wheel.toArray(Endpoint[]::new);
+    }
+
+    private static void parkUntil(long deadline){
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.alecalbright.skyrimbuildanalyzer.archetype;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
@@ -138,7 +140,8 @@ public enum CharacterArchetype {
     private final int sneakSkill;
     private final int oneHandedSkill;
     private final int twoHandedSkill;
-    private final Perk[] perks;
+    private final Set<Perk> perks;
+    private final long perkMask;
     private final WeaponType preferredWeaponType;
     private final ArmorWeight preferredArmorWeight;
     private final int armorTier;
@@ -157,7 +160,8 @@ public enum CharacterArchetype {
         this.sneakSkill = sneakSkill;
         this.oneHandedSkill = oneHandedSkill;
         this.twoHandedSkill = twoHandedSkill;
-        this.perks = perks;
+        this.perks = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(perks)));
+        this.perkMask = Perk.maskOf(this.perks);
         this.preferredWeaponType = preferredWeaponType;
         this.preferredArmorWeight = preferredArmorWeight;
         this.armorTier = armorTier;
@@ -195,9 +199,7 @@ public enum CharacterArchetype {
         character.setOneHandedSkill(oneHandedSkill);
         character.setTwoHandedSkill(twoHandedSkill);
 
-        for(Perk perk : perks){
-            character.addPerk(perk);
-        }
+        character.addPerks(perkMask);
 
         return character;
     }
@@ -213,15 +215,15 @@ public enum CharacterArchetype {
     }
 
     private Weapon selectBestWeapon(WeaponRepository weaponRepository){
-        List<Weapon> availableWeapons = weaponRepository.getWeaponsByType(preferredWeaponType);
+        Weapon best = weaponRepository.getBestWeaponByType(preferredWeaponType);
 
-        if(availableWeapons.isEmpty()){
+        if(best == null){
             throw new IllegalStateException(
                 "No weapons of type " + preferredWeaponType + " available in repository"
             );
         }
 
-        return availableWeapons.stream().max(Comparator.comparingDouble(Weapon::getDPS)).orElseThrow();
+        return best;
     }
 
     @JsonValue
@@ -257,8 +259,16 @@ public enum CharacterArchetype {
         return usesShield;
     }
 
-    public Perk[] getPerks(){
-        return perks.clone();
+    public Set<Perk> getPerks(){
+        return perks;
+    }
+
+    public int getPerkCount(){
+        return perks.size();
+    }
+
+    public long getPerkMask(){
+        return perkMask;
     }
 
     public int getArcherySkill(){
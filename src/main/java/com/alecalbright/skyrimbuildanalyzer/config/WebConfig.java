@@ -11,6 +11,8 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
             .allowedOrigins("http://localhost:5173")
-            .allowedMethods("GET");
+            .allowedMethods("GET", "POST", "DELETE")
+            // Lets the frontend read the phase timings on /matchup and /encounter
+            .exposedHeaders("Server-Timing");
     }
 }
@@ -1,17 +1,25 @@
 package com.alecalbright.skyrimbuildanalyzer.controller;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
 import com.alecalbright.skyrimbuildanalyzer.dto.DamageResponse;
+import com.alecalbright.skyrimbuildanalyzer.dto.DebugBreakdown;
+import com.alecalbright.skyrimbuildanalyzer.dto.DebugResponse;
 import com.alecalbright.skyrimbuildanalyzer.dto.EncounterResponse;
 import com.alecalbright.skyrimbuildanalyzer.dto.MatchupResponse;
 import com.alecalbright.skyrimbuildanalyzer.dto.PerkEfficiencyResponse;
@@ -20,6 +28,7 @@ import com.alecalbright.skyrimbuildanalyzer.model.ArchetypeRanking;
 import com.alecalbright.skyrimbuildanalyzer.model.Character;
 import com.alecalbright.skyrimbuildanalyzer.model.EnemyCategory;
 import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
 import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
 import com.alecalbright.skyrimbuildanalyzer.model.Perk;
 import com.alecalbright.skyrimbuildanalyzer.repository.ArmorRepository;
@@ -28,11 +37,13 @@ import com.alecalbright.skyrimbuildanalyzer.repository.WeaponRepository;
 import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
 import com.alecalbright.skyrimbuildanalyzer.service.ConfidenceAnalysisService;
 import com.alecalbright.skyrimbuildanalyzer.service.DamageAnalysisService;
+import com.alecalbright.skyrimbuildanalyzer.service.MatchupMatrix;
 import com.alecalbright.skyrimbuildanalyzer.service.PerkAnalysisService;
-import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterResult;
-import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterSimulator;
-import com.alecalbright.skyrimbuildanalyzer.simulation.FightResult;
+import com.alecalbright.skyrimbuildanalyzer.service.TournamentCache;
+import com.alecalbright.skyrimbuildanalyzer.simulation.ExactFightDistribution;
 import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.PhaseTimer;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
 
 @RestController
 @RequestMapping("/analytics")
@@ -42,86 +53,123 @@ public class AnalyticsController {
     private final DamageAnalysisService damageService;
     private final PerkAnalysisService perkService;
     private final ConfidenceAnalysisService confidenceService;
-    private final EncounterSimulator encounterSimulator;
+    private final TournamentCache tournamentCache;
+    private final MatchupMatrix matchupMatrix;
     private final WeaponRepository weaponRepository;
     private final ArmorRepository armorRepository;
     private final EnemyRepository enemyRepository;
+    private final ObjectMapper objectMapper;
+    private final SimulationLimits limits;
 
     public AnalyticsController(ArchetypeMatchupService matchupService,
                                DamageAnalysisService damageService,
                                PerkAnalysisService perkService,
                                ConfidenceAnalysisService confidenceService,
-                               EncounterSimulator encounterSimulator,
+                               TournamentCache tournamentCache,
+                               MatchupMatrix matchupMatrix,
                                WeaponRepository weaponRepository,
                                ArmorRepository armorRepository,
-                               EnemyRepository enemyRepository){
+                               EnemyRepository enemyRepository,
+                               ObjectMapper objectMapper,
+                               SimulationLimits limits){
         this.matchupService = matchupService;
         this.damageService = damageService;
         this.perkService = perkService;
         this.confidenceService = confidenceService;
-        this.encounterSimulator = encounterSimulator;
+        this.tournamentCache = tournamentCache;
+        this.matchupMatrix = matchupMatrix;
         this.weaponRepository = weaponRepository;
         this.armorRepository = armorRepository;
         this.enemyRepository = enemyRepository;
+        this.objectMapper = objectMapper;
+        this.limits = limits;
     }
 
     @GetMapping("/tournament")
     public TournamentResponse tournament(@RequestParam(defaultValue = "100") int fights,
-                                         @RequestParam(defaultValue = "false") boolean includeEnemies){
+                                         @RequestParam(defaultValue = "false") boolean includeEnemies,
+                                         @RequestParam(required = false) Long seed,
+                                         @RequestParam(defaultValue = "monte_carlo") String mode,
+                                         @RequestParam(required = false) Double ciWidth){
+        limits.checkTournament(fights, includeEnemies);
+        limits.checkCiWidth(ciWidth);
+        SimulationMode simulationMode = SimulationMode.valueOf(mode.toUpperCase());
         List<String> fighterNames = matchupService.getAllFighterNames(includeEnemies);
-        List<MatchupResult> matchups = matchupService.runFullTournament(fights, includeEnemies);
-        List<ArchetypeRanking> rankings = matchupService.getArchetypeRankings(matchups, fighterNames);
-        double[][] matrix = matchupService.getMatchupMatrix(matchups, fighterNames);
-
-        List<TournamentResponse.MatchupSummary> matchupSummaries = new ArrayList<>();
-        for (MatchupResult m : matchups) {
-            MultiSimulationResult sim = m.simulationResult();
-            matchupSummaries.add(new TournamentResponse.MatchupSummary(
-                m.fighter1Name(),
-                m.fighter2Name(),
-                sim.fighter1Wins(),
-                sim.fighter2Wins(),
-                sim.draws(),
-                m.fighter1WinRate(),
-                confidenceService.isStatisticallySignificant(sim)
-            ));
-        }
+        List<MatchupResult> matchups = matchupService.runFullTournament(
+            fights, includeEnemies, seed, simulationMode, ciWidth);
+        return matchupService.summarizeTournament(fights, matchups, fighterNames);
+    }
 
-        return new TournamentResponse(fights, rankings, matchupSummaries, matrix, fighterNames);
+    // Hit/miss counters for the tournament cache shared by /tournament and /rankings
+    @GetMapping("/cache")
+    public TournamentCache.Stats cache(){
+        return tournamentCache.getStats();
+    }
+
+    // Pairs reused vs simulated by tournaments, across every pool and setting seen so far
+    @GetMapping("/cache/matrix")
+    public MatchupMatrix.Stats matrixCache(){
+        return matchupMatrix.getStats();
     }
 
     @GetMapping("/rankings")
     public List<ArchetypeRanking> rankings(@RequestParam(defaultValue = "100") int fights,
-                                           @RequestParam(defaultValue = "false") boolean includeEnemies){
+                                           @RequestParam(defaultValue = "false") boolean includeEnemies,
+                                           @RequestParam(required = false) Long seed,
+                                           @RequestParam(defaultValue = "monte_carlo") String mode,
+                                           @RequestParam(required = false) Double ciWidth){
+        limits.checkTournament(fights, includeEnemies);
+        limits.checkCiWidth(ciWidth);
+        SimulationMode simulationMode = SimulationMode.valueOf(mode.toUpperCase());
         List<String> fighterNames = matchupService.getAllFighterNames(includeEnemies);
-        List<MatchupResult> matchups = matchupService.runFullTournament(fights, includeEnemies);
+        List<MatchupResult> matchups = matchupService.runFullTournament(
+            fights, includeEnemies, seed, simulationMode, ciWidth);
         return matchupService.getArchetypeRankings(matchups, fighterNames);
     }
 
+    // Phase timings go out in a Server-Timing header; debug=true also adds them to the body
     @GetMapping("/matchup")
-    public MatchupResponse matchup(@RequestParam String a1, @RequestParam String a2,
-                                   @RequestParam(defaultValue = "500") int fights){
-        MatchupResult matchup = matchupService.getSpecificMatchup(a1, a2, fights);
+    public ResponseEntity<byte[]> matchup(@RequestParam String a1, @RequestParam String a2,
+                                          @RequestParam(defaultValue = "500") int fights,
+                                          @RequestParam(required = false) Long seed,
+                                          @RequestParam(defaultValue = "monte_carlo") String mode,
+                                          @RequestParam(required = false) Double ciWidth,
+                                          @RequestParam(defaultValue = "false") boolean debug){
+        limits.checkFights(fights);
+        limits.checkCiWidth(ciWidth);
+        PhaseTimer timer = PhaseTimer.start();
+        SimulationMode simulationMode = SimulationMode.valueOf(mode.toUpperCase());
+        MatchupResult matchup = matchupService.getSpecificMatchup(a1, a2, fights, seed, simulationMode, ciWidth, timer);
+        MatchupResponse response = timer.time("aggregation", () -> matchupResponse(a1, a2, fights, matchup));
+        return timedJson(response, timer, debug);
+    }
+
+    private MatchupResponse matchupResponse(String a1, String a2, int fights, MatchupResult matchup){
         MultiSimulationResult sim = matchup.simulationResult();
 
-        Character c1 = matchupService.resolveFighter(a1);
-        Character c2 = matchupService.resolveFighter(a2);
+        // Cached templates, so this costs nothing beyond the lookups done for the simulation
+        FighterTemplate c1 = matchupService.resolveFighter(a1);
+        FighterTemplate c2 = matchupService.resolveFighter(a2);
+
+        if (matchup.isExact()) {
+            return exactMatchupResponse(fights, matchup.exactDistribution(), c1, c2);
+        }
 
         MatchupResponse.FighterProfile fighter1 = new MatchupResponse.FighterProfile(
-            c1.getName(),
-            c1.getWeapon().getName(),
-            c1.getMaxHealth(),
-            c1.calculateDamage(),
+            c1.name(),
+            c1.weaponName(),
+            c1.maxHealth(),
+            c1.weaponBaseDamage(),
             sim.fighter1Wins(),
             sim.fighter1WinRate(),
             damageService.calculateAverageDPS(sim, sim.fighter1Name())
         );
 
         MatchupResponse.FighterProfile fighter2 = new MatchupResponse.FighterProfile(
-            c2.getName(),
-            c2.getWeapon().getName(),
-            c2.getMaxHealth(),
-            c2.calculateDamage(),
+            c2.name(),
+            c2.weaponName(),
+            c2.maxHealth(),
+            c2.weaponBaseDamage(),
             sim.fighter2Wins(),
             sim.fighter2WinRate(),
             damageService.calculateAverageDPS(sim, sim.fighter2Name())
@@ -140,6 +188,45 @@ public class AnalyticsController {
             confidenceService.isStatisticallySignificant(sim)
         );
 
+        return new MatchupResponse(sim.totalFights(), fighter1, fighter2, stats);
+    }
+
+    // Win counts are expected values over the requested fights; the interval collapses to the exact rate
+    private MatchupResponse exactMatchupResponse(int fights, ExactFightDistribution exact,
+                                                 FighterTemplate c1, FighterTemplate c2){
+        MultiSimulationResult expected = exact.toExpectedResult(fights);
+
+        MatchupResponse.FighterProfile fighter1 = new MatchupResponse.FighterProfile(
+            c1.name(),
+            c1.weaponName(),
+            c1.maxHealth(),
+            c1.weaponBaseDamage(),
+            expected.fighter1Wins(),
+            exact.fighter1WinRate(),
+            exact.fighter1DamagePerTurn()
+        );
+
+        MatchupResponse.FighterProfile fighter2 = new MatchupResponse.FighterProfile(
+            c2.name(),
+            c2.weaponName(),
+            c2.maxHealth(),
+            c2.weaponBaseDamage(),
+            expected.fighter2Wins(),
+            exact.fighter2WinRate(),
+            exact.fighter2DamagePerTurn()
+        );
+
+        MatchupResponse.FightStats stats = new MatchupResponse.FightStats(
+            expected.draws(),
+            exact.averageFightDuration(),
+            exact.shortestFightDuration(),
+            exact.longestFightDuration(),
+            exact.averageTimeToKill(),
+            exact.fighter1WinRate(),
+            exact.fighter1WinRate(),
+            Math.abs(exact.fighter1WinProbability() - exact.fighter2WinProbability()) > 1e-9
+        );
+
         return new MatchupResponse(fights, fighter1, fighter2, stats);
     }
 
@@ -182,7 +269,7 @@ public class AnalyticsController {
             rankings.add(new PerkEfficiencyResponse.ArchetypeEfficiency(
                 arch.getDisplayName(),
                 entry.getValue(),
-                arch.getPerks().length,
+                arch.getPerkCount(),
                 c.getPerkDamageMultiplier(),
                 perkService.calculateTheoreticalDamage(arch)
             ));
@@ -242,80 +329,36 @@ public class AnalyticsController {
     }
 
     @GetMapping("/encounter")
-    public EncounterResponse encounter(@RequestParam String archetype,
-                                       @RequestParam String enemies,
-                                       @RequestParam(defaultValue = "100") int fights){
+    public ResponseEntity<byte[]> encounter(@RequestParam String archetype,
+                                            @RequestParam String enemies,
+                                            @RequestParam(defaultValue = "100") int fights,
+                                            @RequestParam(defaultValue = "false") boolean debug){
+        limits.checkFights(fights);
+        PhaseTimer timer = PhaseTimer.start();
         CharacterArchetype arch = CharacterArchetype.valueOf(archetype.toUpperCase());
+        EncounterResponse response = matchupService.runEncounter(arch, Arrays.asList(enemies.split(",")), fights, timer);
+        return timedJson(response, timer, debug);
+    }
 
-        String[] enemyNames = enemies.split(",");
-        List<Character> enemyCharacters = new ArrayList<>();
-        for (String name : enemyNames) {
-            EnemyDefinition enemy = enemyRepository.getEnemyByName(name.trim());
-            if (enemy == null) {
-                throw new IllegalArgumentException("Unknown enemy: " + name.trim());
-            }
-            enemyCharacters.add(enemy.toCharacter(weaponRepository, armorRepository));
-        }
-
-        List<EncounterResult> results = new ArrayList<>();
-        int survivals = 0;
-        int totalDefeated = 0;
-        double totalDmgDealt = 0;
-        double totalDmgReceived = 0;
-
-        for (int i = 0; i < fights; i++) {
-            Character player = arch.create(weaponRepository, armorRepository);
-
-            List<Character> freshEnemies = new ArrayList<>();
-            for (String name : enemyNames) {
-                EnemyDefinition def = enemyRepository.getEnemyByName(name.trim());
-                freshEnemies.add(def.toCharacter(weaponRepository, armorRepository));
-            }
-
-            EncounterResult result = encounterSimulator.simulate(player, freshEnemies);
-            results.add(result);
-
-            if (result.playerSurvived()) survivals++;
-            totalDefeated += result.enemiesDefeated();
-            totalDmgDealt += result.totalDamageDealt();
-            totalDmgReceived += result.totalDamageReceived();
-        }
+    // Serializes here rather than in Spring's message converter so the header can include it.
+    // The debug breakdown is taken just before that, so only the header reports "serialization".
+    private ResponseEntity<byte[]> timedJson(Object response, PhaseTimer timer, boolean debug){
+        Object body = debug
+            ? new DebugResponse<>(response, new DebugBreakdown(timer.phaseMillis(), timer.totalMillis(), timer.fights()))
+            : response;
+        byte[] json = timer.time("serialization", () -> writeJson(body));
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header("Server-Timing", timer.toServerTiming())
+            .body(json);
+    }
 
-        double survivalRate = (survivals * 100.0) / fights;
-        double avgDefeated = (double) totalDefeated / fights;
-        double avgDmgDealt = totalDmgDealt / fights;
-        double avgDmgReceived = totalDmgReceived / fights;
-
-        List<EncounterResponse.EnemyFightSummary> perEnemy = new ArrayList<>();
-        for (int e = 0; e < enemyNames.length; e++) {
-            String eName = enemyNames[e].trim();
-            int wins = 0;
-            double dmgDealt = 0;
-            double dmgReceived = 0;
-            int fightCount = 0;
-
-            for (EncounterResult r : results) {
-                if (e < r.individualFights().size()) {
-                    FightResult fight = r.individualFights().get(e);
-                    fightCount++;
-                    if (fight.didFighter1Win()) wins++;
-                    dmgDealt += fight.getTotalDamageByFighter(fight.fighter1Name());
-                    dmgReceived += fight.getTotalDamageByFighter(fight.fighter2Name());
-                }
-            }
-
-            double winRate = fightCount > 0 ? (wins * 100.0) / fightCount : 0;
-            perEnemy.add(new EncounterResponse.EnemyFightSummary(
-                eName,
-                winRate,
-                fightCount > 0 ? dmgDealt / fightCount : 0,
-                fightCount > 0 ? dmgReceived / fightCount : 0
-            ));
+    private byte[] writeJson(Object value){
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
         }
-
-        return new EncounterResponse(
-            arch.getDisplayName(), fights, survivalRate,
-            avgDefeated, avgDmgDealt, avgDmgReceived, perEnemy
-        );
     }
 }
@@ -0,0 +1,72 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.RepositoryDataResponse;
+import com.alecalbright.skyrimbuildanalyzer.repository.ArmorRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
+import com.alecalbright.skyrimbuildanalyzer.repository.EnemyRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.RepositorySnapshotStore;
+import com.alecalbright.skyrimbuildanalyzer.repository.WeaponRepository;
+
+// What the repositories hold, plus the two explicit ways to change it: scrape UESP again
+// (which also rewrites the snapshot) or export the current data as the snapshot
+@RestController
+@RequestMapping("/analytics/data")
+public class RepositoryDataController {
+
+    private final WeaponRepository weaponRepository;
+    private final ArmorRepository armorRepository;
+    private final EnemyRepository enemyRepository;
+    private final RepositorySnapshotStore snapshotStore;
+
+    public RepositoryDataController(WeaponRepository weaponRepository,
+                                    ArmorRepository armorRepository,
+                                    EnemyRepository enemyRepository,
+                                    RepositorySnapshotStore snapshotStore){
+        this.weaponRepository = weaponRepository;
+        this.armorRepository = armorRepository;
+        this.enemyRepository = enemyRepository;
+        this.snapshotStore = snapshotStore;
+    }
+
+    @GetMapping
+    public RepositoryDataResponse data(){
+        return status();
+    }
+
+    @PostMapping("/refresh")
+    public RepositoryDataResponse refresh() throws IOException {
+        snapshotStore.refreshFromUesp();
+        return status();
+    }
+
+    @PostMapping("/snapshot")
+    public RepositoryDataResponse exportSnapshot() throws IOException {
+        if (!snapshotStore.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "No repository snapshot path configured (simulation.data.snapshot-path)");
+        }
+        snapshotStore.export();
+        return status();
+    }
+
+    private RepositoryDataResponse status(){
+        return new RepositoryDataResponse(
+            weaponRepository.getWeaponCount(),
+            armorRepository.getAllArmor().size(),
+            armorRepository.getAllShields().size(),
+            enemyRepository.getAllEnemies().size(),
+            DataVersion.of(weaponRepository, armorRepository, enemyRepository),
+            snapshotStore.isEnabled() ? snapshotStore.getPath().toString() : null,
+            snapshotStore.isLoadedFromSnapshot()
+        );
+    }
+}
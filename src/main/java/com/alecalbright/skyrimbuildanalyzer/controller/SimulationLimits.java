@@ -0,0 +1,56 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+
+// How much simulation one request may ask for, and whether its adaptive target makes sense,
+// checked before any of it runs. Batches stream into constant memory, so the fight limits only
+// bound CPU time.
+@Component
+class SimulationLimits {
+
+    private final ArchetypeMatchupService matchupService;
+    private final int maxFights;
+    private final long maxTournamentFights;
+
+    SimulationLimits(ArchetypeMatchupService matchupService,
+                     @Value("${simulation.max-fights:10000000}") int maxFights,
+                     @Value("${simulation.tournament.max-total-fights:100000000}") long maxTournamentFights){
+        this.matchupService = matchupService;
+        this.maxFights = maxFights;
+        this.maxTournamentFights = maxTournamentFights;
+    }
+
+    // Fights in one matchup, or runs of one encounter
+    void checkFights(int fights){
+        if (fights < 1 || fights > maxFights) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "fights must be between 1 and " + maxFights + " (simulation.max-fights)");
+        }
+    }
+
+    // Target interval width for adaptive mode, in percentage points; null means the configured default
+    void checkCiWidth(Double ciWidth){
+        if (ciWidth != null && !(ciWidth > 0 && ciWidth <= 100)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "ciWidth must be above 0 and at most 100 percentage points");
+        }
+    }
+
+    // Every pair in the pool plays fightsPerMatchup, so the pool size counts as much as the fights
+    void checkTournament(int fightsPerMatchup, boolean includeEnemies){
+        checkFights(fightsPerMatchup);
+        long fighters = matchupService.getAllFighterNames(includeEnemies).size();
+        long total = fighters * (fighters - 1) / 2 * fightsPerMatchup;
+        if (total > maxTournamentFights) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "A tournament of " + fighters + " fighters at " + fightsPerMatchup + " fights per matchup runs "
+                    + total + " fights, over the limit of " + maxTournamentFights
+                    + " (simulation.tournament.max-total-fights)");
+        }
+    }
+}
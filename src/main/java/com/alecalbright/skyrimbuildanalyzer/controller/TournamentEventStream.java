@@ -0,0 +1,143 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.MatchupCell;
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+import com.alecalbright.skyrimbuildanalyzer.service.TournamentProgress;
+
+// Bridges a running tournament to one SSE client. Tournament workers hand events to a queue and
+// a sender thread writes them out. The workers belong to the shared tournament pool, so the
+// hand-off never blocks: a queued cell is a reference to a result the job keeps anyway, and a
+// tournament has only so many cells. Once the client trails by more than bufferSize events and
+// the oldest has waited past the send timeout, the client has fallen behind and the next
+// hand-off cancels the stream. A disconnect cancels it too.
+//
+// The sender writes every cell it has, then one rankings snapshot, so snapshots come as often
+// as the client keeps up rather than once per cell.
+final class TournamentEventStream implements TournamentProgress {
+
+    private sealed interface Event permits Cell, Finished {
+        long queuedAt();
+    }
+    private record Cell(int index, MatchupResult result, long queuedAt) implements Event {}
+    private record Finished(TournamentJobResponse job, long queuedAt) implements Event {}
+
+    private final SseEmitter emitter;
+    private final ArchetypeMatchupService matchupService;
+    private final List<String> fighterNames;
+    private final Map<String, Integer> fighterIndex = new HashMap<>();
+    private final BlockingQueue<Event> buffer = new LinkedBlockingQueue<>();
+    private final int bufferSize;
+    private final long sendTimeoutNanos;
+
+    // Only the sender thread touches this
+    private final List<MatchupResult> completed = new ArrayList<>();
+
+    private volatile boolean closed;
+
+    TournamentEventStream(SseEmitter emitter, ArchetypeMatchupService matchupService,
+                          List<String> fighterNames, int bufferSize, long sendTimeoutSeconds){
+        this.emitter = emitter;
+        this.matchupService = matchupService;
+        this.fighterNames = fighterNames;
+        for (int i = 0; i < fighterNames.size(); i++) {
+            fighterIndex.put(fighterNames.get(i), i);
+        }
+        this.bufferSize = bufferSize;
+        this.sendTimeoutNanos = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+    }
+
+    @Override
+    public void matchupFinished(int index, MatchupResult result){
+        enqueue(new Cell(index, result, System.nanoTime()));
+    }
+
+    @Override
+    public boolean isCancelled(){
+        return closed;
+    }
+
+    void finished(TournamentJobResponse job){
+        enqueue(new Finished(job, System.nanoTime()));
+    }
+
+    // Workers see closed and drop the rest
+    void close(){
+        closed = true;
+        buffer.clear();
+    }
+
+    // Runs on the stream's sender thread until the tournament ends or the client goes away
+    void sendAll(){
+        List<Event> batch = new ArrayList<>();
+        try {
+            while (!closed) {
+                Event first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                buffer.drainTo(batch);
+
+                boolean sentCells = false;
+                for (Event event : batch) {
+                    if (event instanceof Cell cell) {
+                        sendCell(cell);
+                        sentCells = true;
+                    } else if (event instanceof Finished finished) {
+                        if (sentCells) sendRankings();
+                        emitter.send(SseEmitter.event().name("complete").data(finished.job()));
+                        return;
+                    }
+                }
+                if (sentCells) sendRankings();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            // Client disconnected; closing below stops the tournament at its next matchup
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+            // Also ends the response of a client that fell behind
+            emitter.complete();
+        }
+    }
+
+    private void sendCell(Cell cell) throws IOException {
+        MatchupResult m = cell.result();
+        completed.add(m);
+        MatchupCell data = new MatchupCell(cell.index(),
+            fighterIndex.getOrDefault(m.fighter1Name(), -1),
+            fighterIndex.getOrDefault(m.fighter2Name(), -1),
+            matchupService.summarizeMatchup(m));
+        emitter.send(SseEmitter.event().name("matchup").id(Integer.toString(cell.index())).data(data));
+    }
+
+    private void sendRankings() throws IOException {
+        emitter.send(SseEmitter.event().name("rankings")
+            .data(matchupService.getArchetypeRankings(completed, fighterNames)));
+    }
+
+    // Called on tournament worker threads, which must never wait on a client
+    private void enqueue(Event event){
+        if (closed) return;
+        Event oldest = buffer.peek();
+        if (buffer.size() >= bufferSize && oldest != null
+            && event.queuedAt() - oldest.queuedAt() >= sendTimeoutNanos) {
+            close();
+            return;
+        }
+        buffer.offer(event);
+    }
+}
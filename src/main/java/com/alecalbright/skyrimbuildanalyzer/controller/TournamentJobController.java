@@ -0,0 +1,53 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.service.TournamentJobService;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// Background version of /analytics/tournament: start a job, poll it for progress and the
+// matchups finished so far, or cancel it
+@RestController
+@RequestMapping("/analytics/jobs")
+public class TournamentJobController {
+
+    private final TournamentJobService jobService;
+    private final SimulationLimits limits;
+
+    public TournamentJobController(TournamentJobService jobService, SimulationLimits limits){
+        this.jobService = jobService;
+        this.limits = limits;
+    }
+
+    @PostMapping("/tournament")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public TournamentJobResponse startTournament(@RequestParam(defaultValue = "100") int fights,
+                                                 @RequestParam(defaultValue = "false") boolean includeEnemies,
+                                                 @RequestParam(required = false) Long seed,
+                                                 @RequestParam(defaultValue = "monte_carlo") String mode,
+                                                 @RequestParam(required = false) Double ciWidth){
+        limits.checkTournament(fights, includeEnemies);
+        limits.checkCiWidth(ciWidth);
+        SimulationMode simulationMode = SimulationMode.valueOf(mode.toUpperCase());
+        return jobService.submit(fights, includeEnemies, seed, simulationMode, ciWidth);
+    }
+
+    @GetMapping("/{id}")
+    public TournamentJobResponse job(@PathVariable String id){
+        return jobService.getJob(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public TournamentJobResponse cancel(@PathVariable String id){
+        return jobService.cancel(id);
+    }
+}
@@ -0,0 +1,81 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+import com.alecalbright.skyrimbuildanalyzer.service.TournamentJobService;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// Streams a tournament as Server-Sent Events so the matrix can fill in while it runs:
+//   start     job id, archetype names and matchup count, sent before any simulation
+//   matchup   one MatchupCell per finished matchup, in completion order
+//   rankings  ArchetypeRanking snapshot over the matchups sent so far
+//   complete  the final job snapshot, including the full TournamentResponse on success
+// The tournament runs as a background job, so it is also visible under /analytics/jobs.
+@RestController
+@RequestMapping("/analytics")
+public class TournamentStreamController {
+
+    private final ArchetypeMatchupService matchupService;
+    private final TournamentJobService jobService;
+    private final SimulationLimits limits;
+    private final int bufferSize;
+    private final long sendTimeoutSeconds;
+
+    public TournamentStreamController(ArchetypeMatchupService matchupService,
+                                      TournamentJobService jobService,
+                                      SimulationLimits limits,
+                                      @Value("${simulation.stream.buffer-size:64}") int bufferSize,
+                                      @Value("${simulation.stream.send-timeout-seconds:30}") long sendTimeoutSeconds){
+        this.matchupService = matchupService;
+        this.jobService = jobService;
+        this.limits = limits;
+        this.bufferSize = bufferSize;
+        this.sendTimeoutSeconds = sendTimeoutSeconds;
+    }
+
+    @GetMapping(value = "/tournament/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTournament(@RequestParam(defaultValue = "100") int fights,
+                                       @RequestParam(defaultValue = "false") boolean includeEnemies,
+                                       @RequestParam(required = false) Long seed,
+                                       @RequestParam(defaultValue = "monte_carlo") String mode,
+                                       @RequestParam(required = false) Double ciWidth) throws IOException {
+        limits.checkTournament(fights, includeEnemies);
+        limits.checkCiWidth(ciWidth);
+        SimulationMode simulationMode = SimulationMode.valueOf(mode.toUpperCase());
+        List<String> fighterNames = matchupService.getAllFighterNames(includeEnemies);
+
+        // No servlet timeout: the stream ends with the tournament, or when the client stops reading
+        SseEmitter emitter = new SseEmitter(0L);
+        TournamentEventStream stream = new TournamentEventStream(
+            emitter, matchupService, fighterNames, bufferSize, sendTimeoutSeconds);
+
+        TournamentJobResponse job = jobService.submit(fights, includeEnemies, seed, simulationMode, ciWidth,
+            stream, stream::finished);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(e -> stream.close());
+
+        Map<String, Object> start = new LinkedHashMap<>();
+        start.put("jobId", job.id());
+        start.put("fightsPerMatchup", fights);
+        start.put("archetypeNames", fighterNames);
+        start.put("matchupsTotal", fighterNames.size() * (fighterNames.size() - 1) / 2);
+        emitter.send(SseEmitter.event().name("start").data(start));
+
+        Thread.ofVirtual().name("tournament-stream-" + job.id()).start(stream::sendAll);
+        return emitter;
+    }
+}
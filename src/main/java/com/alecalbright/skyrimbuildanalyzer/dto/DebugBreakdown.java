@@ -0,0 +1,12 @@
+package com.alecalbright.skyrimbuildanalyzer.dto;
+
+import java.util.Map;
+
+// The "debug" field added beside a response's own fields when it is asked for: where the
+// request's time went up to serialization (milliseconds per phase, the same figures as the
+// Server-Timing header) and how many fights its result took.
+public record DebugBreakdown(
+    Map<String, Double> phasesMs,
+    double totalMs,
+    long fightsRun
+) {}
@@ -0,0 +1,10 @@
+package com.alecalbright.skyrimbuildanalyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+// A response with its debug breakdown as one more field, so the response's own fields are
+// written exactly as they would be without it
+public record DebugResponse<T>(
+    @JsonUnwrapped T response,
+    DebugBreakdown debug
+) {}
@@ -0,0 +1,10 @@
+package com.alecalbright.skyrimbuildanalyzer.dto;
+
+// One finished matrix cell as streamed to the client; row and column index archetypeNames,
+// and index is the matchup's position in pair order
+public record MatchupCell(
+    int index,
+    int row,
+    int column,
+    TournamentResponse.MatchupSummary matchup
+) {}
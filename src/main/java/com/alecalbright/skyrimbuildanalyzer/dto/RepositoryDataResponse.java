@@ -0,0 +1,13 @@
+package com.alecalbright.skyrimbuildanalyzer.dto;
+
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
+
+public record RepositoryDataResponse(
+    int weapons,
+    int armor,
+    int shields,
+    int enemies,
+    DataVersion dataVersion,
+    String snapshotPath,
+    boolean loadedFromSnapshot
+) {}
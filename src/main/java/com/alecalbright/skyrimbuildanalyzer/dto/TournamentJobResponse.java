@@ -0,0 +1,28 @@
+package com.alecalbright.skyrimbuildanalyzer.dto;
+
+import java.util.List;
+
+// Snapshot of a background tournament. completedMatchups holds the finished matchups in pair
+// order so far; result is only set once the whole tournament has completed.
+public record TournamentJobResponse(
+    String id,
+    Status status,
+    int matchupsDone,
+    int matchupsTotal,
+    List<TournamentResponse.MatchupSummary> completedMatchups,
+    TournamentResponse result,
+    String error
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        public boolean isFinished(){
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+}
@@ -15,6 +15,7 @@ public record TournamentResponse(
     public record MatchupSummary(
         String archetype1,
         String archetype2,
+        int fightsSimulated,
         int archetype1Wins,
         int archetype2Wins,
         int draws,
@@ -1,8 +1,8 @@
 package com.alecalbright.skyrimbuildanalyzer.model;
 
-import java.util.HashSet;
 import java.util.Set;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -22,7 +22,9 @@ public class Character {
     private int archerySkill;
     private int sneakSkill;
 
-    private Set<Perk> perks;
+    // One bit per Perk ordinal, so membership and category checks are single mask operations
+    @Setter(AccessLevel.NONE)
+    private long perkMask;
 
     private final Weapon weapon;
     private final Armor armor;
@@ -47,7 +49,7 @@ public class Character {
         this.archerySkill = 0;
         this.sneakSkill = 0;
 
-        this.perks = new HashSet<>();
+        this.perkMask = 0L;
     }
 
     public Character(String name, double maxHealth, double maxStamina, double maxMagicka, Weapon weapon) {
@@ -89,47 +91,43 @@ public class Character {
     }
 
     public void addPerk(Perk perk){
-        this.perks.add(perk);
+        this.perkMask |= perk.bit();
+    }
+
+    public void addPerks(long mask){
+        this.perkMask |= mask;
     }
 
     public boolean hasPerk(Perk perk){
-        return this.perks.contains(perk);
+        return (perkMask & perk.bit()) != 0;
+    }
+
+    public boolean hasPerkInCategory(PerkCategory category){
+        return (perkMask & category.mask()) != 0;
     }
 
     public Set<Perk> getPerks(){
-        return Set.copyOf(perks);
+        return Perk.setOf(perkMask);
     }
 
     // === Offense ===
 
     public double getDamageBoostMultiplier(){
         double multiplier = 1.0;
-        for (Perk perk : perks) {
-            if (perk.getCategory() == PerkCategory.DAMAGE_BOOST) {
-                multiplier *= perk.getMultiplier();
-            }
+        for (long bits = perkMask & PerkCategory.DAMAGE_BOOST.mask(); bits != 0; bits &= bits - 1) {
+            multiplier *= Perk.fromOrdinal(Long.numberOfTrailingZeros(bits)).getMultiplier();
         }
         return multiplier;
     }
 
     public double getSneakAttackMultiplier(){
-        double highest = 1.0;
-        for (Perk perk : perks) {
-            if (perk.getCategory() == PerkCategory.SNEAK_ATTACK && perk.getMultiplier() > highest) {
-                highest = perk.getMultiplier();
-            }
-        }
-        return highest;
+        return highestMultiplier(perkMask & PerkCategory.SNEAK_ATTACK.mask());
     }
 
     public double getCriticalChance(){
         double chance = 0.05;
-        for (Perk perk : perks) {
-            if (perk.getCategory() == PerkCategory.CRITICAL) {
-                if (perk == Perk.CRITICAL_SHOT) chance += 0.15;
-                if (perk == Perk.CRITICAL_CHARGE) chance += 0.10;
-            }
-        }
+        if (hasPerk(Perk.CRITICAL_SHOT)) chance += 0.15;
+        if (hasPerk(Perk.CRITICAL_CHARGE)) chance += 0.10;
         return Math.min(chance, 0.50);
     }
 
@@ -179,30 +177,23 @@ public class Character {
 
     private double getArmorPerkMultiplier() {
         if (armor == null) return 1.0;
-        ArmorWeight weight = armor.getWeight();
 
-        double highest = 1.0;
-        for (Perk perk : perks) {
-            if (perk.getCategory() != PerkCategory.DEFENSE) continue;
-
-            if (weight == ArmorWeight.HEAVY && perk.name().startsWith("JUGGERNAUT")) {
-                highest = Math.max(highest, perk.getMultiplier());
-            }
-            if (weight == ArmorWeight.LIGHT && perk.name().startsWith("AGILE_DEFENDER")) {
-                highest = Math.max(highest, perk.getMultiplier());
-            }
-        }
-        return highest;
+        return switch (armor.getWeight()) {
+            case HEAVY -> highestMultiplier(perkMask & Perk.JUGGERNAUT_RANKS);
+            case LIGHT -> highestMultiplier(perkMask & Perk.AGILE_DEFENDER_RANKS);
+            case NONE -> 1.0;
+        };
     }
 
     private double getShieldPerkMultiplier() {
         if (shield == null) return 1.0;
+        return highestMultiplier(perkMask & Perk.SHIELD_WALL_RANKS);
+    }
 
+    private static double highestMultiplier(long mask) {
         double highest = 1.0;
-        for (Perk perk : perks) {
-            if (perk.name().startsWith("SHIELD_WALL")) {
-                highest = Math.max(highest, perk.getMultiplier());
-            }
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            highest = Math.max(highest, Perk.fromOrdinal(Long.numberOfTrailingZeros(bits)).getMultiplier());
         }
         return highest;
     }
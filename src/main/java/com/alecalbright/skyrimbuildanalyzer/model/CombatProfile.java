@@ -0,0 +1,48 @@
+package com.alecalbright.skyrimbuildanalyzer.model;
+
+// Everything the simulator needs from a Character, resolved once before a fight
+// so the per-turn loop never walks the perk set.
+public record CombatProfile(
+    String name,
+    String weaponName,
+    double maxHealth,
+    double hitDamage,
+    boolean canSneakAttack,
+    double sneakAttackMultiplier,
+    double criticalChance,
+    double criticalDamageMultiplier,
+    double damageTakenFactor
+) {
+
+    public static CombatProfile of(Character character){
+        return new CombatProfile(
+            character.getName(),
+            character.getWeapon().getName(),
+            character.getMaxHealth(),
+            character.getWeapon().getBaseDamage() * character.getDamageBoostMultiplier(),
+            character.canSneakAttack(),
+            character.getSneakAttackMultiplier(),
+            character.getCriticalChance(),
+            character.getCriticalDamageMultiplier(),
+            1.0 - character.calculateDamageReduction()
+        );
+    }
+
+    // Same multiplication order as Character.calculateDamage(boolean, boolean)
+    public double calculateDamage(boolean isSneakAttack, boolean isCritical){
+        double damage = hitDamage;
+
+        if (isSneakAttack) {
+            damage *= sneakAttackMultiplier;
+        }
+        if (isCritical) {
+            damage *= criticalDamageMultiplier;
+        }
+
+        return damage;
+    }
+
+    public double applyDamageReduction(double incomingDamage){
+        return incomingDamage * damageTakenFactor;
+    }
+}
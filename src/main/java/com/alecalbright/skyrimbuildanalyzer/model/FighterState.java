@@ -0,0 +1,42 @@
+package com.alecalbright.skyrimbuildanalyzer.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// The mutable side of a fighter for one fight or encounter. Cheap enough to create per fight,
+// so the shared FighterTemplate never changes.
+@Getter
+@Setter
+public final class FighterState {
+    private final FighterTemplate template;
+    private double health;
+    private double stamina;
+    private double magicka;
+
+    public FighterState(FighterTemplate template){
+        this.template = template;
+        reset();
+    }
+
+    public String getName(){
+        return template.name();
+    }
+
+    public CombatProfile getProfile(){
+        return template.profile();
+    }
+
+    public boolean isAlive(){
+        return health > 0;
+    }
+
+    public void takeDamage(double damage){
+        this.health = Math.max(health - damage, 0);
+    }
+
+    public void reset(){
+        this.health = template.maxHealth();
+        this.stamina = template.maxStamina();
+        this.magicka = template.maxMagicka();
+    }
+}
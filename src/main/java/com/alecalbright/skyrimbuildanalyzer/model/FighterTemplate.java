@@ -0,0 +1,55 @@
+package com.alecalbright.skyrimbuildanalyzer.model;
+
+// Immutable build of one fighter: what the API reports about it plus its compiled CombatProfile.
+// Templates are cached and shared across threads; anything that changes during a fight lives
+// in a FighterState instead.
+public record FighterTemplate(
+    String name,
+    String weaponName,
+    double weaponBaseDamage,
+    double maxHealth,
+    double maxStamina,
+    double maxMagicka,
+    CombatProfile profile
+) {
+
+    public static FighterTemplate of(Character character){
+        return new FighterTemplate(
+            character.getName(),
+            character.getWeapon().getName(),
+            character.getWeapon().getBaseDamage(),
+            character.getMaxHealth(),
+            character.getMaxStamina(),
+            character.getMaxMagicka(),
+            CombatProfile.of(character)
+        );
+    }
+
+    public FighterState newState(){
+        return new FighterState(this);
+    }
+
+    // Identifies this exact build across restarts, which hashCode doesn't promise for records.
+    // Covers every field the fights depend on, so two templates that could fight differently
+    // differ here too, barring a 64-bit collision.
+    public long fingerprint(){
+        long h = mix(0, name.hashCode());
+        h = mix(h, weaponName.hashCode());
+        h = mix(h, Double.doubleToLongBits(weaponBaseDamage));
+        h = mix(h, Double.doubleToLongBits(maxHealth));
+        h = mix(h, Double.doubleToLongBits(maxStamina));
+        h = mix(h, Double.doubleToLongBits(maxMagicka));
+        h = mix(h, Double.doubleToLongBits(profile.maxHealth()));
+        h = mix(h, Double.doubleToLongBits(profile.hitDamage()));
+        h = mix(h, profile.canSneakAttack() ? 1 : 0);
+        h = mix(h, Double.doubleToLongBits(profile.sneakAttackMultiplier()));
+        h = mix(h, Double.doubleToLongBits(profile.criticalChance()));
+        h = mix(h, Double.doubleToLongBits(profile.criticalDamageMultiplier()));
+        return mix(h, Double.doubleToLongBits(profile.damageTakenFactor()));
+    }
+
+    private static long mix(long h, long value){
+        h = (h ^ value) * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 31);
+    }
+}
@@ -1,5 +1,6 @@
 package com.alecalbright.skyrimbuildanalyzer.model;
 
+import com.alecalbright.skyrimbuildanalyzer.simulation.ExactFightDistribution;
 import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
 
 public record MatchupResult(
@@ -7,9 +8,28 @@ public record MatchupResult(
     String fighter2Name,
     MultiSimulationResult simulationResult,
     double fighter1WinRate,
-    double confidenceIntervalWidth
+    double confidenceIntervalWidth,
+    ExactFightDistribution exactDistribution
 ) {
 
+    public MatchupResult(String fighter1Name, String fighter2Name, MultiSimulationResult simulationResult,
+                         double fighter1WinRate, double confidenceIntervalWidth){
+        this(fighter1Name, fighter2Name, simulationResult, fighter1WinRate, confidenceIntervalWidth, null);
+    }
+
+    // Exact results carry expected outcome counts in simulationResult and no sampling error
+    public static MatchupResult exact(ExactFightDistribution distribution, int fightsPerMatchup){
+        return new MatchupResult(
+            distribution.fighter1Name(), distribution.fighter2Name(),
+            distribution.toExpectedResult(fightsPerMatchup),
+            distribution.fighter1WinRate(), 0.0, distribution
+        );
+    }
+
+    public boolean isExact(){
+        return exactDistribution != null;
+    }
+
     @Override
     public String toString(){
         return String.format("%s vs %s: %.1f%% - %.1f%%",
@@ -1,5 +1,7 @@
 package com.alecalbright.skyrimbuildanalyzer.model;
 
+import java.util.EnumSet;
+
 public enum Perk {
 
     // ONE-HANDED PERKS
@@ -77,6 +79,23 @@ public enum Perk {
 
     SHIELD_CHARGE("Shield Charge", 1.0, PerkCategory.UTILITY);
 
+    private static final Perk[] VALUES = values();
+    private static final long[] CATEGORY_MASKS = new long[PerkCategory.values().length];
+
+    static {
+        if (VALUES.length > Long.SIZE) {
+            throw new IllegalStateException("Perk bitmasks only hold " + Long.SIZE + " perks");
+        }
+        for (Perk perk : VALUES) {
+            CATEGORY_MASKS[perk.category.ordinal()] |= perk.bit();
+        }
+    }
+
+    // Rank families that armor and shield bonuses pick the highest rank from
+    public static final long JUGGERNAUT_RANKS = rankMask("JUGGERNAUT_");
+    public static final long AGILE_DEFENDER_RANKS = rankMask("AGILE_DEFENDER_");
+    public static final long SHIELD_WALL_RANKS = rankMask("SHIELD_WALL_");
+
     private final String displayName;
     private final double multiplier;
     private final PerkCategory category;
@@ -99,6 +118,44 @@ public enum Perk {
         return category;
     }
 
+    public long bit(){
+        return 1L << ordinal();
+    }
+
+    public static Perk fromOrdinal(int ordinal){
+        return VALUES[ordinal];
+    }
+
+    public static long categoryMask(PerkCategory category){
+        return CATEGORY_MASKS[category.ordinal()];
+    }
+
+    public static long maskOf(Iterable<Perk> perks){
+        long mask = 0L;
+        for (Perk perk : perks) {
+            mask |= perk.bit();
+        }
+        return mask;
+    }
+
+    public static EnumSet<Perk> setOf(long mask){
+        EnumSet<Perk> perks = EnumSet.noneOf(Perk.class);
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            perks.add(VALUES[Long.numberOfTrailingZeros(bits)]);
+        }
+        return perks;
+    }
+
+    private static long rankMask(String prefix){
+        long mask = 0L;
+        for (Perk perk : VALUES) {
+            if (perk.name().startsWith(prefix)) {
+                mask |= perk.bit();
+            }
+        }
+        return mask;
+    }
+
     public boolean boostsDamage(){
         return multiplier > 1.0;
     }
@@ -6,5 +6,9 @@ public enum PerkCategory {
     CRITICAL,
     SPEED,
     DEFENSE,
-    UTILITY
+    UTILITY;
+
+    public long mask(){
+        return Perk.categoryMask(this);
+    }
 }
@@ -1,11 +1,15 @@
 package com.alecalbright.skyrimbuildanalyzer.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import com.alecalbright.skyrimbuildanalyzer.model.Armor;
@@ -16,73 +20,139 @@ import com.alecalbright.skyrimbuildanalyzer.model.Shield;
 @Repository
 public class ArmorRepository {
 
-    private final Map<String, Armor> armorCache = new HashMap<>();
-    private final Map<String, Shield> shieldCache = new HashMap<>();
-    private boolean loaded = false;
+    private record Snapshot(
+        Map<String, Armor> armor,
+        Map<String, Shield> shields,
+        List<Armor> allArmor,
+        List<Shield> allShields,
+        Map<ArmorWeight, List<Armor>> armorByWeight,
+        Map<ArmorType, List<Armor>> armorByType,
+        Map<ArmorWeight, Armor[]> bestArmorByTier,
+        Map<ArmorWeight, List<Shield>> shieldsByWeight,
+        Map<ArmorWeight, Shield> bestShield
+    ) {
+        static Snapshot of(Map<String, Armor> armor, Map<String, Shield> shields) {
+            List<Armor> allArmor = armor.values().stream()
+                .sorted(Comparator.comparing(Armor::getName))
+                .toList();
+            List<Shield> allShields = shields.values().stream()
+                .sorted(Comparator.comparing(Shield::getName))
+                .toList();
+
+            Map<ArmorWeight, List<Armor>> armorByWeight = new EnumMap<>(ArmorWeight.class);
+            Map<ArmorType, List<Armor>> armorByType = new EnumMap<>(ArmorType.class);
+            Map<ArmorWeight, Armor[]> bestArmorByTier = new EnumMap<>(ArmorWeight.class);
+            for (Armor a : allArmor) {
+                armorByWeight.computeIfAbsent(a.getWeight(), w -> new ArrayList<>()).add(a);
+                armorByType.computeIfAbsent(a.getArmorType(), t -> new ArrayList<>()).add(a);
+
+                Armor[] byTier = bestArmorByTier.computeIfAbsent(a.getWeight(), w -> new Armor[MAX_TIER + 1]);
+                Armor best = byTier[a.getTier()];
+                if (best == null || a.getBaseArmorRating() > best.getBaseArmorRating()) {
+                    byTier[a.getTier()] = a;
+                }
+            }
+            armorByWeight.replaceAll((w, list) -> List.copyOf(list));
+            armorByType.replaceAll((t, list) -> List.copyOf(list));
+
+            Map<ArmorWeight, List<Shield>> shieldsByWeight = new EnumMap<>(ArmorWeight.class);
+            Map<ArmorWeight, Shield> bestShield = new EnumMap<>(ArmorWeight.class);
+            for (Shield s : allShields) {
+                shieldsByWeight.computeIfAbsent(s.getWeight(), w -> new ArrayList<>()).add(s);
+                Shield best = bestShield.get(s.getWeight());
+                if (best == null || s.getBaseArmorRating() > best.getBaseArmorRating()) {
+                    bestShield.put(s.getWeight(), s);
+                }
+            }
+            shieldsByWeight.replaceAll((w, list) -> List.copyOf(list));
+
+            return new Snapshot(Map.copyOf(armor), Map.copyOf(shields), allArmor, allShields,
+                armorByWeight, armorByType, bestArmorByTier, shieldsByWeight, bestShield);
+        }
+    }
+
+    private static final int MAX_TIER = maxTier();
+
+    private final Map<String, Armor> armorStaging = new HashMap<>();
+    private final Map<String, Shield> shieldStaging = new HashMap<>();
+    private final SnapshotHolder<Snapshot> snapshots;
+
+    @Autowired
+    public ArmorRepository(MeterRegistry meterRegistry) {
+        this.snapshots = newSnapshots(new RepositoryMetrics(meterRegistry, "armor"));
+    }
+
+    public ArmorRepository() {
+        this.snapshots = newSnapshots(RepositoryMetrics.none("armor"));
+    }
+
+    private SnapshotHolder<Snapshot> newSnapshots(RepositoryMetrics metrics) {
+        return new SnapshotHolder<>(metrics, this::clearStaging, () -> Snapshot.of(armorStaging, shieldStaging),
+            snapshot -> snapshot.armor().size() + snapshot.shields().size(),
+            RepositoryMetrics.BUNDLED, () -> {
+                loadArmor();
+                loadShields();
+            });
+    }
 
     public Armor getArmor(String name) {
-        ensureLoaded();
-        return armorCache.get(name.toLowerCase());
+        return snapshots.current().armor().get(name.toLowerCase());
     }
 
     public List<Armor> getAllArmor() {
-        ensureLoaded();
-        return new ArrayList<>(armorCache.values());
+        return snapshots.current().allArmor();
     }
 
     public List<Armor> getArmorByWeight(ArmorWeight weight) {
-        ensureLoaded();
-        return armorCache.values().stream()
-            .filter(a -> a.getWeight() == weight)
-            .toList();
+        return snapshots.current().armorByWeight().getOrDefault(weight, List.of());
     }
 
     public List<Armor> getArmorByType(ArmorType type) {
-        ensureLoaded();
-        return armorCache.values().stream()
-            .filter(a -> a.getArmorType() == type)
-            .toList();
+        return snapshots.current().armorByType().getOrDefault(type, List.of());
     }
 
+    // Highest rating of that weight and tier, the first by name on a tie; null when there are none
     public Armor getBestArmorByWeightAndTier(ArmorWeight weight, int tier) {
-        ensureLoaded();
-        return armorCache.values().stream()
-            .filter(a -> a.getWeight() == weight && a.getTier() == tier)
-            .max(Comparator.comparingDouble(Armor::getBaseArmorRating))
-            .orElse(null);
+        Armor[] byTier = snapshots.current().bestArmorByTier().get(weight);
+        if (byTier == null || tier < 0 || tier >= byTier.length) return null;
+        return byTier[tier];
     }
 
     public Shield getShield(String name) {
-        ensureLoaded();
-        return shieldCache.get(name.toLowerCase());
+        return snapshots.current().shields().get(name.toLowerCase());
     }
 
     public List<Shield> getAllShields() {
-        ensureLoaded();
-        return new ArrayList<>(shieldCache.values());
+        return snapshots.current().allShields();
     }
 
     public List<Shield> getShieldsByWeight(ArmorWeight weight) {
-        ensureLoaded();
-        return shieldCache.values().stream()
-            .filter(s -> s.getWeight() == weight)
-            .toList();
+        return snapshots.current().shieldsByWeight().getOrDefault(weight, List.of());
     }
 
     public Shield getBestShieldByWeight(ArmorWeight weight) {
-        ensureLoaded();
-        return shieldCache.values().stream()
-            .filter(s -> s.getWeight() == weight)
-            .max(Comparator.comparingDouble(Shield::getBaseArmorRating))
-            .orElse(null);
-    }
-
-    private synchronized void ensureLoaded() {
-        if (!loaded) {
-            loadArmor();
-            loadShields();
-            loaded = true;
-        }
+        return snapshots.current().bestShield().get(weight);
+    }
+
+    public int getDataVersion() {
+        return snapshots.version();
+    }
+
+    // Installs armor and shields from an offline snapshot in place of the built-in tables
+    public void replaceArmor(Collection<Armor> armor, Collection<Shield> shields) {
+        snapshots.publish(RepositoryMetrics.SNAPSHOT, () -> {
+            for (Armor a : armor) {
+                armorStaging.put(a.getName().toLowerCase(), a);
+            }
+            for (Shield s : shields) {
+                shieldStaging.put(s.getName().toLowerCase(), s);
+            }
+        });
+    }
+
+    private void clearStaging() {
+        armorStaging.clear();
+        shieldStaging.clear();
     }
 
     private void loadArmor() {
@@ -131,11 +201,19 @@ public class ArmorRepository {
         addShield("Dragonplate Shield", 34, ArmorWeight.HEAVY);
     }
 
+    private static int maxTier() {
+        int max = 0;
+        for (ArmorType type : ArmorType.values()) {
+            max = Math.max(max, type.getTier());
+        }
+        return max;
+    }
+
     private void addArmor(String name, double rating, ArmorType type) {
-        armorCache.put(name.toLowerCase(), new Armor(name, rating, type));
+        armorStaging.put(name.toLowerCase(), new Armor(name, rating, type));
     }
 
     private void addShield(String name, double rating, ArmorWeight weight) {
-        shieldCache.put(name.toLowerCase(), new Shield(name, rating, weight));
+        shieldStaging.put(name.toLowerCase(), new Shield(name, rating, weight));
     }
 }
@@ -0,0 +1,16 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+// Which load of each repository a derived result was built from. Any reload changes it,
+// which is how caches of fighters and tournaments know to drop their entries.
+public record DataVersion(int weapons, int armor, int enemies) {
+
+    public static DataVersion of(WeaponRepository weaponRepository,
+                                 ArmorRepository armorRepository,
+                                 EnemyRepository enemyRepository){
+        return new DataVersion(
+            weaponRepository.getDataVersion(),
+            armorRepository.getDataVersion(),
+            enemyRepository.getDataVersion()
+        );
+    }
+}
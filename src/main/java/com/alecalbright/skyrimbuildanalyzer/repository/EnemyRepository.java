@@ -2,17 +2,22 @@ package com.alecalbright.skyrimbuildanalyzer.repository;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import com.alecalbright.skyrimbuildanalyzer.model.EnemyCategory;
@@ -23,43 +28,103 @@ import com.alecalbright.skyrimbuildanalyzer.model.Perk;
 public class EnemyRepository {
     private static final Logger log = LoggerFactory.getLogger(EnemyRepository.class);
     private static final int TIMEOUT_MS = 10000;
-    private final Map<String, EnemyDefinition> enemyCache = new HashMap<>();
-    private boolean loaded = false;
+    private final boolean lazyScrape;
+    private final RepositoryMetrics metrics;
+
+    private record Snapshot(
+        Map<String, EnemyDefinition> enemies,
+        List<EnemyDefinition> all,
+        Map<EnemyCategory, List<EnemyDefinition>> byCategory,
+        List<String> names
+    ) {
+        static Snapshot of(Map<String, EnemyDefinition> enemies) {
+            List<EnemyDefinition> all = enemies.values().stream()
+                .sorted(Comparator.comparing(EnemyDefinition::getName))
+                .toList();
+
+            Map<EnemyCategory, List<EnemyDefinition>> byCategory = new EnumMap<>(EnemyCategory.class);
+            for (EnemyDefinition enemy : all) {
+                byCategory.computeIfAbsent(enemy.getCategory(), category -> new ArrayList<>()).add(enemy);
+            }
+            byCategory.replaceAll((category, list) -> List.copyOf(list));
+
+            List<String> names = all.stream().map(EnemyDefinition::getName).toList();
+            return new Snapshot(Map.copyOf(enemies), all, byCategory, names);
+        }
+    }
+
+    private final Map<String, EnemyDefinition> staging = new HashMap<>();
+    private final SnapshotHolder<Snapshot> snapshots;
+
+    // Without lazy scraping, first use loads the bundled enemy list and UESP is only contacted
+    // through refreshFromUesp()
+    @Autowired
+    public EnemyRepository(@Value("${simulation.data.lazy-scrape:false}") boolean lazyScrape,
+                           MeterRegistry meterRegistry) {
+        this.lazyScrape = lazyScrape;
+        this.metrics = new RepositoryMetrics(meterRegistry, "enemies");
+        this.snapshots = newSnapshots();
+    }
+
+    public EnemyRepository(boolean lazyScrape) {
+        this.lazyScrape = lazyScrape;
+        this.metrics = RepositoryMetrics.none("enemies");
+        this.snapshots = newSnapshots();
+    }
+
+    private SnapshotHolder<Snapshot> newSnapshots() {
+        return new SnapshotHolder<>(metrics, staging::clear, () -> Snapshot.of(staging),
+            snapshot -> snapshot.enemies().size(),
+            lazyScrape ? RepositoryMetrics.UESP : RepositoryMetrics.BUNDLED, this::loadConfiguredEnemies);
+    }
 
     public EnemyDefinition getEnemyByName(String name) {
-        ensureLoaded();
         if (name == null || name.isBlank()) return null;
-        return enemyCache.get(name.toLowerCase().trim());
+        return snapshots.current().enemies().get(name.toLowerCase().trim());
     }
 
     public List<EnemyDefinition> getAllEnemies() {
-        ensureLoaded();
-        return List.copyOf(enemyCache.values());
+        return snapshots.current().all();
     }
 
     public List<EnemyDefinition> getEnemiesByCategory(EnemyCategory category) {
-        ensureLoaded();
-        return enemyCache.values().stream()
-            .filter(e -> e.getCategory() == category)
-            .collect(Collectors.toList());
+        return snapshots.current().byCategory().getOrDefault(category, List.of());
     }
 
+    // Sorted once per load rather than per call
     public List<String> getEnemyNames() {
-        ensureLoaded();
-        return enemyCache.values().stream()
-            .map(EnemyDefinition::getName)
-            .sorted()
-            .collect(Collectors.toList());
+        return snapshots.current().names();
     }
 
     public boolean hasEnemy(String name) {
         return getEnemyByName(name) != null;
     }
 
-    private synchronized void ensureLoaded() {
-        if (!loaded) {
+    public int getDataVersion() {
+        return snapshots.version();
+    }
+
+    // Scrapes UESP now and tops the result up with the bundled enemies. Readers keep using the
+    // previous snapshot until the scrape is done.
+    public void refreshFromUesp() {
+        snapshots.publish(RepositoryMetrics.UESP, this::loadEnemies);
+    }
+
+    // Installs enemies from an offline snapshot in place of whatever was loaded
+    public void replaceEnemies(Collection<EnemyDefinition> enemies) {
+        snapshots.publish(RepositoryMetrics.SNAPSHOT, () -> {
+            for (EnemyDefinition enemy : enemies) {
+                staging.put(enemy.getName().toLowerCase(), enemy);
+            }
+        });
+    }
+
+    private void loadConfiguredEnemies() {
+        if (lazyScrape) {
             loadEnemies();
-            loaded = true;
+        } else {
+            loadFallbackEnemies();
+            log.info("Loaded {} bundled enemies", staging.size());
         }
     }
 
@@ -83,15 +148,16 @@ public class EnemyRepository {
             log.warn("Enemy scraping failed: {}", e.getMessage());
         }
 
+        metrics.scrapeFinished(scrapedEnough);
         if (!scrapedEnough) {
             log.info("Scraping didn't get enough enemies, using fallback data...");
-            enemyCache.clear();
+            staging.clear();
         }
 
         loadFallbackEnemies();
 
         long elapsed = System.currentTimeMillis() - startTime;
-        log.info("Loaded {} total enemies in {}ms", enemyCache.size(), elapsed);
+        log.info("Loaded {} total enemies in {}ms", staging.size(), elapsed);
     }
 
     private int scrapeBanditPage() {
@@ -365,8 +431,8 @@ public class EnemyRepository {
 
     private void addEnemyIfNotExists(EnemyDefinition enemy) {
         String key = enemy.getName().toLowerCase();
-        if (!enemyCache.containsKey(key)) {
-            enemyCache.put(key, enemy);
+        if (!staging.containsKey(key)) {
+            staging.put(key, enemy);
         }
     }
 
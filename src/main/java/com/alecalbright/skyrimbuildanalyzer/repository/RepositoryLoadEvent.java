@@ -0,0 +1,25 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.alecalbright.skyrimbuildanalyzer.RepositoryLoad")
+@Label("Repository Load")
+@Category({"Skyrim Build Analyzer", "Repository"})
+@Description("A repository snapshot built and published")
+@StackTrace(false)
+final class RepositoryLoadEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Source")
+    @Description("bundled, uesp or snapshot")
+    String source;
+
+    @Label("Entries")
+    int entries;
+}
@@ -0,0 +1,60 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import java.util.function.IntSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+// Load timings and UESP scrape outcomes for one repository. Repositories built outside Spring
+// get meters on an empty composite registry, which record nothing. Each load is also a
+// RepositoryLoad JFR event when a recording has it enabled.
+final class RepositoryMetrics {
+
+    static final String BUNDLED = "bundled";
+    static final String UESP = "uesp";
+    static final String SNAPSHOT = "snapshot";
+
+    private final MeterRegistry registry;
+    private final String repository;
+
+    RepositoryMetrics(MeterRegistry registry, String repository){
+        this.registry = registry;
+        this.repository = repository;
+    }
+
+    static RepositoryMetrics none(String repository){
+        return new RepositoryMetrics(new CompositeMeterRegistry(), repository);
+    }
+
+    // Times a load, whether or not it completes; the loader returns how many entries it published
+    void timeLoad(String source, IntSupplier loader){
+        RepositoryLoadEvent event = new RepositoryLoadEvent();
+        event.begin();
+        int entries = Timer.builder("repository.load")
+            .description("Time to build and publish a repository snapshot")
+            .tag("repository", repository)
+            .tag("source", source)
+            .register(registry)
+            .record(loader::getAsInt);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = repository;
+            event.source = source;
+            event.entries = entries;
+            event.commit();
+        }
+    }
+
+    // Registered on first use, so repositories that never scrape don't report zero scrapes
+    void scrapeFinished(boolean succeeded){
+        Counter.builder("repository.scrape")
+            .description("UESP scrapes, by whether they got enough rows or fell back to bundled data")
+            .tag("repository", repository)
+            .tag("outcome", succeeded ? "success" : "fallback")
+            .register(registry)
+            .increment();
+    }
+}
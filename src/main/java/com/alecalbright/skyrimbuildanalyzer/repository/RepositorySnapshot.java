@@ -0,0 +1,93 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import java.util.List;
+
+import com.alecalbright.skyrimbuildanalyzer.model.Armor;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorType;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorWeight;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyCategory;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.Perk;
+import com.alecalbright.skyrimbuildanalyzer.model.Shield;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+// Everything the repositories hold, in the on-disk shape of an offline data snapshot. The
+// entry records mirror the model classes field for field, so the file format doesn't change
+// when a model class gains behaviour. Bump FORMAT_VERSION when an entry's fields change.
+public record RepositorySnapshot(
+    int format,
+    long createdAt,
+    List<WeaponEntry> weapons,
+    List<ArmorEntry> armor,
+    List<ShieldEntry> shields,
+    List<EnemyEntry> enemies
+) {
+
+    public static final int FORMAT_VERSION = 1;
+
+    public record WeaponEntry(String name, double baseDamage, double attackSpeed, WeaponType weaponType) {
+        static WeaponEntry of(Weapon w){
+            return new WeaponEntry(w.getName(), w.getBaseDamage(), w.getAttackSpeed(), w.getWeaponType());
+        }
+
+        Weapon toWeapon(){
+            return new Weapon(name, baseDamage, attackSpeed, weaponType);
+        }
+    }
+
+    public record ArmorEntry(String name, double baseArmorRating, ArmorType armorType) {
+        static ArmorEntry of(Armor a){
+            return new ArmorEntry(a.getName(), a.getBaseArmorRating(), a.getArmorType());
+        }
+
+        Armor toArmor(){
+            return new Armor(name, baseArmorRating, armorType);
+        }
+    }
+
+    public record ShieldEntry(String name, double baseArmorRating, ArmorWeight weight) {
+        static ShieldEntry of(Shield s){
+            return new ShieldEntry(s.getName(), s.getBaseArmorRating(), s.getWeight());
+        }
+
+        Shield toShield(){
+            return new Shield(name, baseArmorRating, weight);
+        }
+    }
+
+    public record EnemyEntry(String name, int level, double health, double stamina, double magicka,
+                             EnemyCategory category, String weaponName, String armorName,
+                             String shieldName, List<Perk> perks) {
+        static EnemyEntry of(EnemyDefinition e){
+            return new EnemyEntry(e.getName(), e.getLevel(), e.getHealth(), e.getStamina(), e.getMagicka(),
+                e.getCategory(), e.getWeaponName(), e.getArmorName(), e.getShieldName(), e.getPerks());
+        }
+
+        EnemyDefinition toEnemy(){
+            return new EnemyDefinition(name, level, health, stamina, magicka,
+                category, weaponName, armorName, shieldName, perks);
+        }
+    }
+
+    public static RepositorySnapshot capture(WeaponRepository weaponRepository, ArmorRepository armorRepository,
+                                             EnemyRepository enemyRepository){
+        return new RepositorySnapshot(
+            FORMAT_VERSION,
+            System.currentTimeMillis(),
+            weaponRepository.getAllWeapons().stream().map(WeaponEntry::of).toList(),
+            armorRepository.getAllArmor().stream().map(ArmorEntry::of).toList(),
+            armorRepository.getAllShields().stream().map(ShieldEntry::of).toList(),
+            enemyRepository.getAllEnemies().stream().map(EnemyEntry::of).toList()
+        );
+    }
+
+    public void installInto(WeaponRepository weaponRepository, ArmorRepository armorRepository,
+                            EnemyRepository enemyRepository){
+        weaponRepository.replaceWeapons(weapons.stream().map(WeaponEntry::toWeapon).toList());
+        armorRepository.replaceArmor(
+            armor.stream().map(ArmorEntry::toArmor).toList(),
+            shields.stream().map(ShieldEntry::toShield).toList());
+        enemyRepository.replaceEnemies(enemies.stream().map(EnemyEntry::toEnemy).toList());
+    }
+}
@@ -0,0 +1,186 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+
+// Reads and writes the offline repository snapshot. When the configured file exists it's
+// installed into the repositories during startup, before the server takes requests, so no
+// request ever waits on UESP. The file is streamed entry by entry in both directions rather
+// than built up as one JSON tree.
+@Component
+public class RepositorySnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositorySnapshotStore.class);
+
+    private final ObjectMapper objectMapper;
+    private final WeaponRepository weaponRepository;
+    private final ArmorRepository armorRepository;
+    private final EnemyRepository enemyRepository;
+    private final Path path;
+
+    private volatile boolean loadedFromSnapshot;
+
+    public RepositorySnapshotStore(ObjectMapper objectMapper,
+                                   WeaponRepository weaponRepository,
+                                   ArmorRepository armorRepository,
+                                   EnemyRepository enemyRepository,
+                                   @Value("${simulation.data.snapshot-path:}") String path){
+        this.objectMapper = objectMapper;
+        this.weaponRepository = weaponRepository;
+        this.armorRepository = armorRepository;
+        this.enemyRepository = enemyRepository;
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    @PostConstruct
+    public void loadAtStartup(){
+        if (path == null || !Files.exists(path)) return;
+
+        long start = System.currentTimeMillis();
+        try {
+            RepositorySnapshot snapshot = read(path);
+            snapshot.installInto(weaponRepository, armorRepository, enemyRepository);
+            loadedFromSnapshot = true;
+            log.info("Loaded repository snapshot {} ({} weapons, {} armor, {} shields, {} enemies) in {}ms",
+                path, snapshot.weapons().size(), snapshot.armor().size(), snapshot.shields().size(),
+                snapshot.enemies().size(), System.currentTimeMillis() - start);
+        } catch (IOException | IllegalArgumentException e) {
+            // The repositories fall back to their bundled data on first use
+            log.warn("Could not load repository snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled(){
+        return path != null;
+    }
+
+    public boolean isLoadedFromSnapshot(){
+        return loadedFromSnapshot;
+    }
+
+    public Path getPath(){
+        return path;
+    }
+
+    // Writes what the repositories hold now, through a temp file so readers never see half a snapshot
+    public synchronized RepositorySnapshot export() throws IOException {
+        if (path == null) {
+            throw new IllegalStateException("No repository snapshot path configured (simulation.data.snapshot-path)");
+        }
+        RepositorySnapshot snapshot = RepositorySnapshot.capture(weaponRepository, armorRepository, enemyRepository);
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            write(snapshot, out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported repository snapshot to {}", path);
+        return snapshot;
+    }
+
+    // Scraping is only ever done on request; the result becomes the next startup's snapshot
+    public synchronized void refreshFromUesp() throws IOException {
+        weaponRepository.refreshFromUesp();
+        enemyRepository.refreshFromUesp();
+        if (path != null) {
+            export();
+        }
+    }
+
+    void write(RepositorySnapshot snapshot, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeNumberField("format", snapshot.format());
+            gen.writeNumberField("createdAt", snapshot.createdAt());
+            writeArray(gen, "weapons", snapshot.weapons());
+            writeArray(gen, "armor", snapshot.armor());
+            writeArray(gen, "shields", snapshot.shields());
+            writeArray(gen, "enemies", snapshot.enemies());
+            gen.writeEndObject();
+        }
+    }
+
+    RepositorySnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    RepositorySnapshot read(InputStream in) throws IOException {
+        int format = -1;
+        long createdAt = 0;
+        List<RepositorySnapshot.WeaponEntry> weapons = List.of();
+        List<RepositorySnapshot.ArmorEntry> armor = List.of();
+        List<RepositorySnapshot.ShieldEntry> shields = List.of();
+        List<RepositorySnapshot.EnemyEntry> enemies = List.of();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Repository snapshot must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "format" -> {
+                        format = parser.getIntValue();
+                        // Checked as soon as it's seen, so a newer file isn't half-parsed first
+                        if (format != RepositorySnapshot.FORMAT_VERSION) {
+                            throw new IllegalArgumentException("Unsupported repository snapshot format " + format
+                                + ", expected " + RepositorySnapshot.FORMAT_VERSION);
+                        }
+                    }
+                    case "createdAt" -> createdAt = parser.getLongValue();
+                    case "weapons" -> weapons = readArray(parser, RepositorySnapshot.WeaponEntry.class);
+                    case "armor" -> armor = readArray(parser, RepositorySnapshot.ArmorEntry.class);
+                    case "shields" -> shields = readArray(parser, RepositorySnapshot.ShieldEntry.class);
+                    case "enemies" -> enemies = readArray(parser, RepositorySnapshot.EnemyEntry.class);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (format != RepositorySnapshot.FORMAT_VERSION) {
+            throw new IllegalArgumentException("Repository snapshot has no format version");
+        }
+        return new RepositorySnapshot(format, createdAt, weapons, armor, shields, enemies);
+    }
+
+    private <T> void writeArray(JsonGenerator gen, String field, List<T> entries) throws IOException {
+        gen.writeArrayFieldStart(field);
+        for (T entry : entries) {
+            objectMapper.writeValue(gen, entry);
+        }
+        gen.writeEndArray();
+    }
+
+    private <T> List<T> readArray(JsonParser parser, Class<T> type) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected an array of " + type.getSimpleName());
+        }
+        List<T> entries = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            entries.add(objectMapper.readValue(parser, type));
+        }
+        return entries;
+    }
+}
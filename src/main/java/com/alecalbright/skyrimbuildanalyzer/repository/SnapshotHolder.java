@@ -0,0 +1,80 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// Publishes a repository's data as immutable snapshots. Readers only ever see a fully built
+// snapshot and never take a lock. Loads are serialized on loadLock: the loader fills the
+// repository's staging maps, build turns them into the next snapshot, and one volatile write
+// publishes it along with a new data version. The first read runs the initial load.
+//
+// A loader that throws leaves the published snapshot untouched; staging is cleared either way.
+final class SnapshotHolder<S> {
+
+    private record Published<S>(S data, int version) {}
+
+    private final RepositoryMetrics metrics;
+    private final Runnable clearStaging;
+    private final Supplier<S> build;
+    private final ToIntFunction<S> entries;
+    private final String initialSource;
+    private final Runnable initialLoader;
+
+    private final Object loadLock = new Object();
+    private volatile Published<S> published;
+
+    SnapshotHolder(RepositoryMetrics metrics, Runnable clearStaging, Supplier<S> build,
+                   ToIntFunction<S> entries, String initialSource, Runnable initialLoader){
+        this.metrics = metrics;
+        this.clearStaging = clearStaging;
+        this.build = build;
+        this.entries = entries;
+        this.initialSource = initialSource;
+        this.initialLoader = initialLoader;
+    }
+
+    S current(){
+        return published().data();
+    }
+
+    // Counts completed loads: 1 after the initial load, one more for each load after it. Anything
+    // derived from the repository's data keeps the version it was built from and can tell when
+    // it's stale.
+    int version(){
+        return published().version();
+    }
+
+    // Readers keep using the previous snapshot until the loader is done
+    void publish(String source, Runnable loader){
+        synchronized (loadLock) {
+            load(source, loader);
+        }
+    }
+
+    private Published<S> published(){
+        Published<S> current = published;
+        if (current != null) return current;
+
+        synchronized (loadLock) {
+            if (published == null) {
+                load(initialSource, initialLoader);
+            }
+            return published;
+        }
+    }
+
+    // Caller holds loadLock
+    private void load(String source, Runnable loader){
+        clearStaging.run();
+        try {
+            metrics.timeLoad(source, () -> {
+                loader.run();
+                S data = build.get();
+                published = new Published<>(data, published != null ? published.version() + 1 : 1);
+                return entries.applyAsInt(data);
+            });
+        } finally {
+            clearStaging.run();
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package com.alecalbright.skyrimbuildanalyzer.repository;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
@@ -22,30 +28,80 @@ public class WeaponRepository {
     private static final Logger log = LoggerFactory.getLogger(WeaponRepository.class);
     private static final String UESP_WEAPONS_URL = "https://en.uesp.net/wiki/Skyrim:Weapons";
     private static final int TIMEOUT_MS = 10000;
-    private final Map<String, Weapon> weaponCache = new HashMap<>();
-    private boolean weaponsLoaded = false;
+    private final boolean lazyScrape;
+    private final RepositoryMetrics metrics;
+
+    // The type indexes are built with each snapshot, so archetype weapon picks are plain lookups
+    private record Snapshot(
+        Map<String, Weapon> weapons,
+        List<Weapon> all,
+        Map<WeaponType, List<Weapon>> byType,
+        Map<WeaponType, Weapon> bestByType
+    ) {
+        static Snapshot of(Map<String, Weapon> weapons){
+            // Name order keeps listings and tie-breaks the same from one JVM to the next
+            List<Weapon> all = weapons.values().stream()
+                .sorted(Comparator.comparing(Weapon::getName))
+                .toList();
+
+            Map<WeaponType, List<Weapon>> byType = new EnumMap<>(WeaponType.class);
+            Map<WeaponType, Weapon> bestByType = new EnumMap<>(WeaponType.class);
+            for(Weapon weapon : all){
+                byType.computeIfAbsent(weapon.getWeaponType(), type -> new ArrayList<>()).add(weapon);
+                Weapon best = bestByType.get(weapon.getWeaponType());
+                if(best == null || weapon.getDPS() > best.getDPS()){
+                    bestByType.put(weapon.getWeaponType(), weapon);
+                }
+            }
+            byType.replaceAll((type, list) -> List.copyOf(list));
 
-    public Weapon getWeapon(String name){
-        ensureWeaponsLoaded();
+            return new Snapshot(Map.copyOf(weapons), all, byType, bestByType);
+        }
+    }
+
+    private final Map<String, Weapon> staging = new HashMap<>();
+    private final SnapshotHolder<Snapshot> snapshots;
+
+    // Without lazy scraping, first use loads the bundled weapon list and UESP is only contacted
+    // through refreshFromUesp(), so startup never waits on the network
+    @Autowired
+    public WeaponRepository(@Value("${simulation.data.lazy-scrape:false}") boolean lazyScrape,
+                            MeterRegistry meterRegistry){
+        this.lazyScrape = lazyScrape;
+        this.metrics = new RepositoryMetrics(meterRegistry, "weapons");
+        this.snapshots = newSnapshots();
+    }
 
+    public WeaponRepository(boolean lazyScrape){
+        this.lazyScrape = lazyScrape;
+        this.metrics = RepositoryMetrics.none("weapons");
+        this.snapshots = newSnapshots();
+    }
+
+    private SnapshotHolder<Snapshot> newSnapshots(){
+        return new SnapshotHolder<>(metrics, staging::clear, () -> Snapshot.of(staging),
+            snapshot -> snapshot.weapons().size(), configuredSource(), this::loadConfiguredWeapons);
+    }
+
+    public Weapon getWeapon(String name){
         if(name == null || name.isBlank()){
             return null;
         }
 
-        return weaponCache.get(name.toLowerCase().trim());
+        return snapshots.current().weapons().get(name.toLowerCase().trim());
     }
 
     public List<Weapon> getAllWeapons(){
-        ensureWeaponsLoaded();
-        return List.copyOf(weaponCache.values());
+        return snapshots.current().all();
     }
 
     public List<Weapon> getWeaponsByType(WeaponType weaponType){
-        ensureWeaponsLoaded();
+        return snapshots.current().byType().getOrDefault(weaponType, List.of());
+    }
 
-        return weaponCache.values().stream()
-            .filter(weapon -> weapon.getWeaponType() == weaponType)
-            .collect(Collectors.toList());
+    // Highest DPS of the type, the first by name on a tie; null when there are none
+    public Weapon getBestWeaponByType(WeaponType weaponType){
+        return snapshots.current().bestByType().get(weaponType);
     }
 
     public boolean hasWeapon(String name){
@@ -53,21 +109,43 @@ public class WeaponRepository {
     }
 
     public int getWeaponCount(){
-        ensureWeaponsLoaded();
-        return weaponCache.size();
+        return snapshots.current().weapons().size();
     }
 
     public void reloadWeapons(){
-        weaponCache.clear();
-        weaponsLoaded = false;
-        ensureWeaponsLoaded();
+        snapshots.publish(configuredSource(), this::loadConfiguredWeapons);
     }
 
-    private synchronized void ensureWeaponsLoaded(){
-        if(!weaponsLoaded){
+    // Scrapes UESP now, falling back to the bundled list when that doesn't get enough weapons.
+    // Readers keep using the previous snapshot until the scrape is done.
+    public void refreshFromUesp(){
+        snapshots.publish(RepositoryMetrics.UESP, this::loadWeapons);
+    }
+
+    // Installs weapons from an offline snapshot in place of whatever was loaded
+    public void replaceWeapons(Collection<Weapon> weapons){
+        snapshots.publish(RepositoryMetrics.SNAPSHOT, () -> {
+            for(Weapon weapon : weapons){
+                staging.put(weapon.getName().toLowerCase(), weapon);
+            }
+        });
+    }
+
+    public int getDataVersion(){
+        return snapshots.version();
+    }
+
+    private void loadConfiguredWeapons(){
+        if(lazyScrape){
             loadWeapons();
-            weaponsLoaded = true;
         }
+        else{
+            loadBundledWeapons();
+        }
+    }
+
+    private String configuredSource(){
+        return lazyScrape ? RepositoryMetrics.UESP : RepositoryMetrics.BUNDLED;
     }
 
     private void loadWeapons(){
@@ -88,15 +166,15 @@ public class WeaponRepository {
                 int tableNum = 0;
                 for(Element table : tables){
                     tableNum++;
-                    int beforeCount = weaponCache.size();
+                    int beforeCount = staging.size();
                     parseWeaponTable(table, tableNum);
-                    int afterCount = weaponCache.size();
+                    int afterCount = staging.size();
                     log.debug("Table #{}: added {} weapons", tableNum, afterCount - beforeCount);
                 }
 
-                log.info("Weapons from scraping: {}", weaponCache.size());
+                log.info("Weapons from scraping: {}", staging.size());
 
-                if(weaponCache.size() > 20){
+                if(staging.size() > 20){
                     scrapingSucceeded = true;
                 }
 
@@ -105,16 +183,17 @@ public class WeaponRepository {
                 log.warn("Failed to connect to UESP: {}", e.getMessage());
             }
 
+            metrics.scrapeFinished(scrapingSucceeded);
             if(!scrapingSucceeded){
                 log.info("Scraping didn't get enough weapons, using fallback database...");
-                weaponCache.clear();
+                staging.clear();
                 fallbackSampleWeapons();
             }
 
             addLegendaryWeapons();
 
             long endTime = System.currentTimeMillis();
-            log.info("Loaded {} total weapons in {}ms", weaponCache.size(), endTime - startTime);
+            log.info("Loaded {} total weapons in {}ms", staging.size(), endTime - startTime);
 
         }
         catch(Exception e){
@@ -122,6 +201,12 @@ public class WeaponRepository {
         }
     }
 
+    private void loadBundledWeapons(){
+        fallbackSampleWeapons();
+        addLegendaryWeapons();
+        log.info("Loaded {} bundled weapons", staging.size());
+    }
+
     private void parseWeaponTable(Element table, int tableNum){
         Elements rows = table.select("tr");
 
@@ -384,7 +469,7 @@ public class WeaponRepository {
 
     private void addWeaponIfNotExists(String name, double damage, double speed, WeaponType type){
         String key = name.toLowerCase();
-        if(!weaponCache.containsKey(key)){
+        if(!staging.containsKey(key)){
             addWeapon(name, damage, speed, type);
         }
     }
@@ -422,6 +507,6 @@ public class WeaponRepository {
 
     private void addWeapon(String name, double damage, double speed, WeaponType type){
         Weapon weapon = new Weapon(name, damage, speed, type);
-        weaponCache.put(name.toLowerCase(), weapon);
+        staging.put(name.toLowerCase(), weapon);
     }
 }
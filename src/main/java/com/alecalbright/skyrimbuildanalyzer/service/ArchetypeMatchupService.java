@@ -5,58 +5,86 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.dto.EncounterResponse;
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentResponse;
 import com.alecalbright.skyrimbuildanalyzer.model.ArchetypeRanking;
-import com.alecalbright.skyrimbuildanalyzer.model.Character;
-import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
 import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
-import com.alecalbright.skyrimbuildanalyzer.repository.ArmorRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
 import com.alecalbright.skyrimbuildanalyzer.repository.EnemyRepository;
-import com.alecalbright.skyrimbuildanalyzer.repository.WeaponRepository;
 import com.alecalbright.skyrimbuildanalyzer.simulation.CombatSimulator;
+import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.EncounterSimulator;
+import com.alecalbright.skyrimbuildanalyzer.simulation.ExactCombatEngine;
+import com.alecalbright.skyrimbuildanalyzer.simulation.FightResult;
 import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.PhaseTimer;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+import com.alecalbright.skyrimbuildanalyzer.simulation.TournamentExecutor;
 
 @Service
 public class ArchetypeMatchupService {
 
     private final CombatSimulator combatSimulator;
-    private final WeaponRepository weaponRepository;
-    private final ArmorRepository armorRepository;
+    private final FighterCatalog fighterCatalog;
     private final EnemyRepository enemyRepository;
     private final ConfidenceAnalysisService confidenceService;
+    private final TournamentExecutor tournamentExecutor;
+    private final ExactCombatEngine exactEngine;
+    private final TournamentCache tournamentCache;
+    private final MatchupMatrix matchupMatrix;
+    private final EncounterSimulator encounterSimulator;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary tournamentSize;
+    private final int adaptiveChunkSize;
+    private final double defaultTargetCiWidth;
+
+    private final SingleFlight<MatchupKey, MatchupResult> matchupFlights = new SingleFlight<>();
+    private final SingleFlight<TournamentCache.Key, List<MatchupResult>> tournamentFlights = new SingleFlight<>();
+    private final SingleFlight<EncounterKey, EncounterResponse> encounterFlights = new SingleFlight<>();
 
     public ArchetypeMatchupService(CombatSimulator combatSimulator,
-                                   WeaponRepository weaponRepository,
-                                   ArmorRepository armorRepository,
+                                   FighterCatalog fighterCatalog,
                                    EnemyRepository enemyRepository,
-                                   ConfidenceAnalysisService confidenceService){
+                                   ConfidenceAnalysisService confidenceService,
+                                   TournamentExecutor tournamentExecutor,
+                                   ExactCombatEngine exactEngine,
+                                   TournamentCache tournamentCache,
+                                   MatchupMatrix matchupMatrix,
+                                   EncounterSimulator encounterSimulator,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${simulation.adaptive.chunk-size:100}") int adaptiveChunkSize,
+                                   @Value("${simulation.adaptive.target-ci-width:5.0}") double defaultTargetCiWidth){
         this.combatSimulator = combatSimulator;
-        this.weaponRepository = weaponRepository;
-        this.armorRepository = armorRepository;
+        this.fighterCatalog = fighterCatalog;
         this.enemyRepository = enemyRepository;
         this.confidenceService = confidenceService;
+        this.tournamentExecutor = tournamentExecutor;
+        this.exactEngine = exactEngine;
+        this.tournamentCache = tournamentCache;
+        this.matchupMatrix = matchupMatrix;
+        this.encounterSimulator = encounterSimulator;
+        this.meterRegistry = meterRegistry;
+        this.tournamentSize = DistributionSummary.builder("simulation.tournament.matchups")
+            .description("Matchups in each tournament played")
+            .baseUnit("matchups")
+            .register(meterRegistry);
+        this.adaptiveChunkSize = adaptiveChunkSize;
+        this.defaultTargetCiWidth = defaultTargetCiWidth;
     }
 
-    public Character resolveFighter(String name) {
-        // Try archetype first
-        for (CharacterArchetype archetype : CharacterArchetype.values()) {
-            if (archetype.name().equalsIgnoreCase(name)
-                || archetype.getDisplayName().equalsIgnoreCase(name)) {
-                return archetype.create(weaponRepository, armorRepository);
-            }
-        }
-
-        // Try enemy
-        EnemyDefinition enemy = enemyRepository.getEnemyByName(name);
-        if (enemy != null) {
-            return enemy.toCharacter(weaponRepository, armorRepository);
-        }
-
-        throw new IllegalArgumentException("Unknown fighter: " + name
-            + ". Must be a valid archetype or enemy name.");
+    public FighterTemplate resolveFighter(String name) {
+        return fighterCatalog.resolve(name);
     }
 
     public List<String> getAllFighterNames(boolean includeEnemies) {
@@ -70,29 +98,277 @@ public class ArchetypeMatchupService {
         return names;
     }
 
-    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies){
+    // In ADAPTIVE mode fightsPerMatchup is the per-matchup ceiling and targetCiWidth (percentage
+    // points, null for the configured default) decides when a matchup has seen enough fights.
+    // Repeat calls with the same parameters and repository data are served from the cache,
+    // unseeded ones included, and concurrent misses on one key share a single run.
+    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies,
+                                                 Long seed, SimulationMode mode, Double targetCiWidth){
+        Double width = effectiveTargetWidth(mode, targetCiWidth);
+        TournamentCache.Key key = tournamentKey(fightsPerMatchup, includeEnemies, seed, mode, width);
+
+        return tournamentFlights.execute(key, () -> tournamentCache.getOrCompute(key,
+            () -> playTournament(fightsPerMatchup, includeEnemies, seed, mode, width, TournamentProgress.NONE)));
+    }
+
+    // Same tournament, reported matchup by matchup and stoppable between matchups. A tracked run
+    // has its own observer, so it skips single-flight, but still reads and fills the cache.
+    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies,
+                                                 Long seed, SimulationMode mode, Double targetCiWidth,
+                                                 TournamentProgress progress){
+        Double width = effectiveTargetWidth(mode, targetCiWidth);
+        TournamentCache.Key key = tournamentKey(fightsPerMatchup, includeEnemies, seed, mode, width);
+
+        List<MatchupResult> cached = tournamentCache.get(key);
+        if (cached != null) {
+            progress.started(cached.size());
+            for (int i = 0; i < cached.size(); i++) {
+                progress.matchupFinished(i, cached.get(i));
+            }
+            return cached;
+        }
+
+        List<MatchupResult> matchups = List.copyOf(
+            playTournament(fightsPerMatchup, includeEnemies, seed, mode, width, progress));
+        tournamentCache.put(key, matchups);
+        return matchups;
+    }
+
+    private TournamentCache.Key tournamentKey(int fightsPerMatchup, boolean includeEnemies,
+                                              Long seed, SimulationMode mode, Double width){
+        return new TournamentCache.Key(
+            fightsPerMatchup, includeEnemies,
+            mode == SimulationMode.EXACT ? null : seed,
+            mode, width, fighterCatalog.dataVersion());
+    }
+
+    // Parameters a mode ignores are left out of coalescing and cache keys so they can't split entries
+    private Double effectiveTargetWidth(SimulationMode mode, Double targetCiWidth){
+        if (mode != SimulationMode.ADAPTIVE) return null;
+        return targetCiWidth != null ? targetCiWidth : defaultTargetCiWidth;
+    }
+
+    private List<MatchupResult> playTournament(int fightsPerMatchup, boolean includeEnemies,
+                                               Long seed, SimulationMode mode, Double targetCiWidth,
+                                               TournamentProgress progress){
         List<String> fighterNames = getAllFighterNames(includeEnemies);
-        List<MatchupResult> matchups = new ArrayList<>();
+        SplittableRandom unseeded = new SplittableRandom();
 
+        // A seeded pair's seed depends only on the tournament seed and the two fighters, so a
+        // pair plays the same fights whatever else is in the pool and can be reused from the matrix
+        List<Pairing> pairs = new ArrayList<>();
         for (int i = 0; i < fighterNames.size(); i++) {
             for (int j = i + 1; j < fighterNames.size(); j++) {
-                Character c1 = resolveFighter(fighterNames.get(i));
-                Character c2 = resolveFighter(fighterNames.get(j));
+                String fighter1 = fighterNames.get(i);
+                String fighter2 = fighterNames.get(j);
+                long pairSeed = seed != null ? pairSeed(seed, fighter1, fighter2) : unseeded.nextLong();
+                pairs.add(new Pairing(pairs.size(), fighter1, fighter2, pairSeed));
+            }
+        }
 
-                MultiSimulationResult result = combatSimulator.simulateMultipleFights(c1, c2, fightsPerMatchup);
+        progress.started(pairs.size());
+        tournamentSize.record(pairs.size());
+        // A seeded tournament only adds to the matrix once its seed comes back; see recordSeed
+        boolean keep = seed == null || mode == SimulationMode.EXACT || matchupMatrix.recordSeed(seed);
+
+        // Only tournaments that are actually played are timed; cache hits never get here
+        TournamentEvent event = new TournamentEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<MatchupResult> matchups = tournamentExecutor.mapInOrder(pairs, pair -> {
+            if (progress.isCancelled()) {
+                throw new CancellationException("Tournament cancelled");
+            }
+            MatchupResult result = matrixMatchup(pair, fightsPerMatchup, seed, mode, targetCiWidth, keep);
+            progress.matchupFinished(pair.index(), result);
+            return result;
+        });
+        sample.stop(Timer.builder("simulation.tournament")
+            .description("Time to play a full round robin")
+            .tag("mode", mode.name().toLowerCase())
+            .tag("enemies", String.valueOf(includeEnemies))
+            .register(meterRegistry));
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.fighters = fighterNames.size();
+            event.matchups = pairs.size();
+            event.fightsPerMatchup = fightsPerMatchup;
+            event.mode = mode.name().toLowerCase();
+            event.includeEnemies = includeEnemies;
+            event.commit();
+        }
+        return matchups;
+    }
+
+    // Reads the matrix for every pair; fills it only when keep is set
+    private MatchupResult matrixMatchup(Pairing pair, int fightsPerMatchup, Long seed, SimulationMode mode,
+                                        Double targetCiWidth, boolean keep){
+        FighterTemplate c1 = resolveFighter(pair.fighter1());
+        FighterTemplate c2 = resolveFighter(pair.fighter2());
+        MatchupMatrix.Cell cell = new MatchupMatrix.Cell(pair.fighter1(), pair.fighter2(), fightsPerMatchup,
+            mode == SimulationMode.EXACT ? null : seed, mode, targetCiWidth);
+
+        MatchupEvent event = new MatchupEvent();
+        event.begin();
+        MatchupResult result = matchupMatrix.get(cell, c1, c2);
+        boolean reused = result != null;
+        if (!reused) {
+            result = playMatchup(c1, c2, fightsPerMatchup, pair.seed(), mode, targetCiWidth);
+            if (keep) matchupMatrix.put(cell, c1, c2, result);
+        }
+        commitMatchupEvent(event, result, mode, reused);
+        return result;
+    }
+
+    // Fields are only filled in when a recording wants the event
+    private static void commitMatchupEvent(MatchupEvent event, MatchupResult result, SimulationMode mode, boolean reused){
+        event.end();
+        if (!event.shouldCommit()) return;
+
+        event.fighter1 = result.fighter1Name();
+        event.fighter2 = result.fighter2Name();
+        event.mode = mode.name().toLowerCase();
+        event.reused = reused;
+        event.fights = reused || result.isExact() ? 0 : result.simulationResult().totalFights();
+        event.averageTurns = result.simulationResult().averageFightDuration();
+        event.commit();
+    }
+
+    private static long pairSeed(long seed, String fighter1, String fighter2){
+        long pair = 31L * fighter1.hashCode() + fighter2.hashCode();
+        return new SplittableRandom(seed ^ (pair * 0x9e3779b97f4a7c15L)).nextLong();
+    }
+
+    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies,
+                                                 Long seed, SimulationMode mode){
+        return runFullTournament(fightsPerMatchup, includeEnemies, seed, mode, null);
+    }
+
+    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies, Long seed){
+        return runFullTournament(fightsPerMatchup, includeEnemies, seed, SimulationMode.MONTE_CARLO);
+    }
+
+    public List<MatchupResult> runFullTournament(int fightsPerMatchup, boolean includeEnemies){
+        return runFullTournament(fightsPerMatchup, includeEnemies, null);
+    }
+
+    // Plays one matchup with an explicit seed; tournaments and /matchup both come through here
+    private MatchupResult playMatchup(FighterTemplate c1, FighterTemplate c2, int fightsPerMatchup, long seed,
+                                      SimulationMode mode, Double targetCiWidth){
+        if (mode == SimulationMode.EXACT) {
+            return MatchupResult.exact(exactEngine.solve(c1.profile(), c2.profile()), fightsPerMatchup);
+        }
 
-                double[] ci = confidenceService.calculateWinRateConfidenceInterval(
-                    result.fighter1Wins(), result.totalFights());
-                double ciWidth = ci[1] - ci[0];
+        MultiSimulationResult result = simulate(c1, c2, fightsPerMatchup, seed, mode, targetCiWidth);
 
-                matchups.add(new MatchupResult(
-                    fighterNames.get(i), fighterNames.get(j), result,
-                    result.fighter1WinRate(), ciWidth
-                ));
+        double[] ci = confidenceService.calculateWinRateConfidenceInterval(
+            result.fighter1Wins(), result.totalFights());
+
+        return new MatchupResult(
+            c1.name(), c2.name(), result,
+            result.fighter1WinRate(), ci[1] - ci[0]
+        );
+    }
+
+    private MultiSimulationResult simulate(FighterTemplate c1, FighterTemplate c2, int fights, long seed,
+                                           SimulationMode mode, Double targetCiWidth){
+        if (mode != SimulationMode.ADAPTIVE) {
+            return combatSimulator.simulateMultipleFights(c1, c2, fights, seed);
+        }
+
+        double width = targetCiWidth != null ? targetCiWidth : defaultTargetCiWidth;
+        return combatSimulator.simulateUntilSettled(c1, c2, adaptiveChunkSize, fights, seed,
+            confidenceService.adaptiveStoppingRule(width, adaptiveChunkSize));
+    }
+
+    // Runs the archetype through the listed enemies in order, runs times, and averages the outcomes.
+    // Concurrent requests for the same encounter share one set of runs.
+    public EncounterResponse runEncounter(CharacterArchetype archetype, List<String> enemyNames, int runs){
+        return runEncounter(archetype, enemyNames, runs, PhaseTimer.NONE);
+    }
+
+    // Charges the timer with repository loading, fighter resolution, the fights themselves and
+    // the per-enemy aggregation. A request that joins another's run spends its time in "simulation".
+    public EncounterResponse runEncounter(CharacterArchetype archetype, List<String> enemyNames, int runs,
+                                          PhaseTimer timer){
+        List<String> names = enemyNames.stream().map(String::trim).toList();
+        DataVersion dataVersion = timer.time("repository", fighterCatalog::dataVersion);
+        EncounterKey key = new EncounterKey(archetype, names, runs, dataVersion);
+        return timer.time("simulation",
+            () -> encounterFlights.execute(key, () -> playEncounter(archetype, names, runs, timer)));
+    }
+
+    private EncounterResponse playEncounter(CharacterArchetype archetype, List<String> enemyNames, int runs,
+                                            PhaseTimer timer){
+        // Templates are immutable, so one set serves every run
+        timer.begin("resolve");
+        FighterTemplate player = fighterCatalog.archetype(archetype);
+        List<FighterTemplate> enemies = new ArrayList<>();
+        for (String name : enemyNames) {
+            FighterTemplate enemy = fighterCatalog.enemy(name);
+            if (enemy == null) {
+                throw new IllegalArgumentException("Unknown enemy: " + name);
             }
+            enemies.add(enemy);
         }
+        timer.end();
 
-        return matchups;
+        timer.begin("aggregation");
+        try {
+            return aggregateEncounter(archetype, player, enemies, enemyNames, runs, timer);
+        } finally {
+            timer.end();
+        }
+    }
+
+    private EncounterResponse aggregateEncounter(CharacterArchetype archetype, FighterTemplate player,
+                                                 List<FighterTemplate> enemies, List<String> enemyNames,
+                                                 int runs, PhaseTimer timer){
+
+        int survivals = 0;
+        int totalDefeated = 0;
+        double totalDmgDealt = 0;
+        double totalDmgReceived = 0;
+
+        // Per enemy slot: fights reached, wins, damage dealt, damage received
+        int[] fightCounts = new int[enemies.size()];
+        int[] wins = new int[enemies.size()];
+        double[] dmgDealt = new double[enemies.size()];
+        double[] dmgReceived = new double[enemies.size()];
+
+        for (int i = 0; i < runs; i++) {
+            EncounterResult result = encounterSimulator.simulate(player, enemies, false, timer);
+
+            if (result.playerSurvived()) survivals++;
+            totalDefeated += result.enemiesDefeated();
+            totalDmgDealt += result.totalDamageDealt();
+            totalDmgReceived += result.totalDamageReceived();
+
+            for (int e = 0; e < result.individualFights().size(); e++) {
+                FightResult fight = result.individualFights().get(e);
+                fightCounts[e]++;
+                if (fight.didFighter1Win()) wins[e]++;
+                dmgDealt[e] += fight.getTotalDamageByFighter(fight.fighter1Name());
+                dmgReceived[e] += fight.getTotalDamageByFighter(fight.fighter2Name());
+            }
+        }
+
+        List<EncounterResponse.EnemyFightSummary> perEnemy = new ArrayList<>();
+        for (int e = 0; e < enemies.size(); e++) {
+            int fightCount = fightCounts[e];
+            perEnemy.add(new EncounterResponse.EnemyFightSummary(
+                enemyNames.get(e),
+                fightCount > 0 ? (wins[e] * 100.0) / fightCount : 0,
+                fightCount > 0 ? dmgDealt[e] / fightCount : 0,
+                fightCount > 0 ? dmgReceived[e] / fightCount : 0
+            ));
+        }
+
+        return new EncounterResponse(
+            archetype.getDisplayName(), runs, (survivals * 100.0) / runs,
+            (double) totalDefeated / runs, totalDmgDealt / runs, totalDmgReceived / runs, perEnemy
+        );
     }
 
     public List<MatchupResult> runFullTournament(int fightsPerMatchup){
@@ -121,10 +397,14 @@ public class ArchetypeMatchupService {
         return matrix;
     }
 
+    // Overall win rate is the mean of per-matchup win rates, so adaptive matchups that stopped
+    // early count as much as ones that ran to the limit
     public List<ArchetypeRanking> getArchetypeRankings(List<MatchupResult> matchups, List<String> fighterNames){
         Map<String, int[]> stats = new HashMap<>();
+        Map<String, double[]> winRateTotals = new HashMap<>();
         for (String name : fighterNames) {
             stats.put(name, new int[]{0, 0, 0});
+            winRateTotals.put(name, new double[]{0.0, 0.0});
         }
 
         for (MatchupResult matchup : matchups) {
@@ -141,6 +421,13 @@ public class ArchetypeMatchupService {
             s2[0] += sim.fighter2Wins();
             s2[1] += sim.fighter1Wins();
             s2[2] += sim.draws();
+
+            double[] r1 = winRateTotals.get(matchup.fighter1Name());
+            double[] r2 = winRateTotals.get(matchup.fighter2Name());
+            r1[0] += sim.fighter1WinRate();
+            r1[1]++;
+            r2[0] += sim.fighter2WinRate();
+            r2[1]++;
         }
 
         double[][] matrix = getMatchupMatrix(matchups, fighterNames);
@@ -172,8 +459,8 @@ public class ArchetypeMatchupService {
         List<ArchetypeRanking> rankings = new ArrayList<>();
         for (String name : fighterNames) {
             int[] s = stats.get(name);
-            int totalFights = s[0] + s[1] + s[2];
-            double winRate = totalFights > 0 ? (s[0] * 100.0) / totalFights : 0.0;
+            double[] r = winRateTotals.get(name);
+            double winRate = r[1] > 0 ? r[0] / r[1] : 0.0;
             String tier = assignTier(winRate);
 
             rankings.add(new ArchetypeRanking(
@@ -186,21 +473,84 @@ public class ArchetypeMatchupService {
         return rankings;
     }
 
-    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup){
-        Character c1 = resolveFighter(fighter1);
-        Character c2 = resolveFighter(fighter2);
+    public TournamentResponse summarizeTournament(int fightsPerMatchup, List<MatchupResult> matchups,
+                                                  List<String> fighterNames){
+        List<TournamentResponse.MatchupSummary> summaries = new ArrayList<>();
+        for (MatchupResult m : matchups) {
+            summaries.add(summarizeMatchup(m));
+        }
+        return new TournamentResponse(fightsPerMatchup,
+            getArchetypeRankings(matchups, fighterNames),
+            summaries,
+            getMatchupMatrix(matchups, fighterNames),
+            fighterNames);
+    }
 
-        MultiSimulationResult result = combatSimulator.simulateMultipleFights(c1, c2, fightsPerMatchup);
+    public TournamentResponse.MatchupSummary summarizeMatchup(MatchupResult m){
+        MultiSimulationResult sim = m.simulationResult();
+        return new TournamentResponse.MatchupSummary(
+            m.fighter1Name(),
+            m.fighter2Name(),
+            sim.totalFights(),
+            sim.fighter1Wins(),
+            sim.fighter2Wins(),
+            sim.draws(),
+            m.fighter1WinRate(),
+            confidenceService.isStatisticallySignificant(sim)
+        );
+    }
 
-        double[] ci = confidenceService.calculateWinRateConfidenceInterval(
-            result.fighter1Wins(), result.totalFights());
+    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup,
+                                            Long seed, SimulationMode mode, Double targetCiWidth){
+        return getSpecificMatchup(fighter1, fighter2, fightsPerMatchup, seed, mode, targetCiWidth, PhaseTimer.NONE);
+    }
 
-        return new MatchupResult(
-            c1.getName(), c2.getName(), result,
-            result.fighter1WinRate(), ci[1] - ci[0]
-        );
+    // Concurrent requests for the same matchup share one simulation; unseeded ones included.
+    // Every request counts the fights behind the result it gets, including one that joined another's
+    // run and spent its "simulation" time waiting.
+    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup,
+                                            Long seed, SimulationMode mode, Double targetCiWidth,
+                                            PhaseTimer timer){
+        DataVersion dataVersion = timer.time("repository", fighterCatalog::dataVersion);
+        FighterTemplate c1 = timer.time("resolve", () -> resolveFighter(fighter1));
+        FighterTemplate c2 = timer.time("resolve", () -> resolveFighter(fighter2));
+        Double width = effectiveTargetWidth(mode, targetCiWidth);
+
+        MatchupKey key = new MatchupKey(c1.name(), c2.name(), fightsPerMatchup,
+            mode == SimulationMode.EXACT ? null : seed, mode, width, dataVersion);
+        MatchupResult shared = timer.time("simulation", () -> matchupFlights.execute(key, () -> {
+            MatchupEvent event = new MatchupEvent();
+            event.begin();
+            long batchSeed = seed != null ? seed : new SplittableRandom().nextLong();
+            MatchupResult result = playMatchup(c1, c2, fightsPerMatchup, batchSeed, mode, width);
+            commitMatchupEvent(event, result, mode, false);
+            return result;
+        }));
+        if (!shared.isExact()) timer.countFights(shared.simulationResult().totalFights());
+        return shared;
+    }
+
+    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup,
+                                            Long seed, SimulationMode mode){
+        return getSpecificMatchup(fighter1, fighter2, fightsPerMatchup, seed, mode, null);
     }
 
+    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup, Long seed){
+        return getSpecificMatchup(fighter1, fighter2, fightsPerMatchup, seed, SimulationMode.MONTE_CARLO);
+    }
+
+    public MatchupResult getSpecificMatchup(String fighter1, String fighter2, int fightsPerMatchup){
+        return getSpecificMatchup(fighter1, fighter2, fightsPerMatchup, null);
+    }
+
+    private record Pairing(int index, String fighter1, String fighter2, long seed) {}
+
+    private record MatchupKey(String fighter1, String fighter2, int fights, Long seed,
+                              SimulationMode mode, Double targetCiWidth, DataVersion dataVersion) {}
+
+    private record EncounterKey(CharacterArchetype archetype, List<String> enemies, int runs,
+                                DataVersion dataVersion) {}
+
     private String assignTier(double winRate){
         if (winRate >= 70.0) return "S";
         if (winRate >= 55.0) return "A";
@@ -3,23 +3,44 @@ package com.alecalbright.skyrimbuildanalyzer.service;
 import org.springframework.stereotype.Service;
 
 import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.StoppingRule;
 
 @Service
 public class ConfidenceAnalysisService {
 
     private static final double Z_95 = 1.96; // 95% confidence
+    private static final double Z_99 = 2.576; // 99% confidence
 
     // Wilson score interval — better than normal approximation at small sample sizes
     public double[] calculateWinRateConfidenceInterval(int wins, int totalFights){
+        return wilsonInterval(wins, totalFights, Z_95);
+    }
+
+    // Adaptive batches stop once the 95% interval is narrower than targetWidth (in percentage points),
+    // or once a 99% interval clears 50% either way. The stricter bound for the early stop offsets
+    // the repeated looks taken after every chunk.
+    public StoppingRule adaptiveStoppingRule(double targetWidth, int minimumFights){
+        return (fighter1Wins, fighter2Wins, fightsSoFar) -> {
+            if (fightsSoFar < minimumFights) return false;
+
+            double[] ci = wilsonInterval(fighter1Wins, fightsSoFar, Z_95);
+            if (ci[1] - ci[0] <= targetWidth) return true;
+
+            double[] strict = wilsonInterval(fighter1Wins, fightsSoFar, Z_99);
+            return strict[0] > 50.0 || strict[1] < 50.0;
+        };
+    }
+
+    private double[] wilsonInterval(int wins, int totalFights, double z){
         if (totalFights == 0) return new double[]{0.0, 0.0};
 
         double p = (double) wins / totalFights;
-        double z2 = Z_95 * Z_95;
+        double z2 = z * z;
         double n = totalFights;
 
         double denominator = 1 + z2 / n;
         double center = (p + z2 / (2 * n)) / denominator;
-        double margin = (Z_95 * Math.sqrt((p * (1 - p) + z2 / (4 * n)) / n)) / denominator;
+        double margin = (z * Math.sqrt((p * (1 - p) + z2 / (4 * n)) / n)) / denominator;
 
         double lower = Math.max(0.0, center - margin) * 100.0;
         double upper = Math.min(1.0, center + margin) * 100.0;
@@ -2,50 +2,24 @@ package com.alecalbright.skyrimbuildanalyzer.service;
 
 import org.springframework.stereotype.Service;
 
-import com.alecalbright.skyrimbuildanalyzer.simulation.FightResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.FightStatistics;
 import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
 
 @Service
 public class DamageAnalysisService {
 
-    private double calculateDPS(FightResult fight, String fighterName){
-        if (fight.totalTurns() == 0) return 0.0;
-
-        double totalDamage = fight.getTotalDamageByFighter(fighterName);
-        return totalDamage / fight.totalTurns();
-    }
-
-    private int calculateTimeToKill(FightResult fight){
-        if (fight.wasDraw()) return -1;
-        return fight.totalTurns();
-    }
-
+    // Mean of damage / turns over the batch; a mirror match credits both sides to the shared name
     public double calculateAverageDPS(MultiSimulationResult results, String fighterName){
-        double totalDPS = 0;
-        int validFights = 0;
-
-        for (FightResult fight : results.allFights()) {
-            if (fight.totalTurns() > 0) {
-                totalDPS += calculateDPS(fight, fighterName);
-                validFights++;
-            }
-        }
+        FightStatistics stats = results.statistics();
 
-        return validFights > 0 ? totalDPS / validFights : 0.0;
+        double dps = 0.0;
+        if (results.fighter1Name().equals(fighterName)) dps += stats.fighter1DamagePerTurn();
+        if (results.fighter2Name().equals(fighterName)) dps += stats.fighter2DamagePerTurn();
+        return dps;
     }
 
+    // Mean length of the fights that ended in a kill
     public double calculateAverageTimeToKill(MultiSimulationResult results){
-        int totalTTK = 0;
-        int decisiveFights = 0;
-
-        for (FightResult fight : results.allFights()) {
-            int ttk = calculateTimeToKill(fight);
-            if (ttk > 0) {
-                totalTTK += ttk;
-                decisiveFights++;
-            }
-        }
-
-        return decisiveFights > 0 ? (double) totalTTK / decisiveFights : 0.0;
+        return results.statistics().meanTimeToKill();
     }
 }
@@ -0,0 +1,89 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Service;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.repository.ArmorRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
+import com.alecalbright.skyrimbuildanalyzer.repository.EnemyRepository;
+import com.alecalbright.skyrimbuildanalyzer.repository.WeaponRepository;
+
+// Builds each fighter once (weapon selection, armor lookup, perk compilation) and hands out the
+// same immutable template afterwards. Lookups are case-insensitive on archetype constant,
+// archetype display name or enemy name.
+//
+// Templates bake in weapon and armor stats, so each data version gets its own map. A new version
+// swaps in a fresh map whole; a build still running against the old data lands in the old map,
+// which nothing reads any more, instead of leaking into the new one.
+@Service
+public class FighterCatalog {
+
+    private final WeaponRepository weaponRepository;
+    private final ArmorRepository armorRepository;
+    private final EnemyRepository enemyRepository;
+
+    private final AtomicReference<Templates> templates =
+        new AtomicReference<>(new Templates(null, new ConcurrentHashMap<>()));
+
+    public FighterCatalog(WeaponRepository weaponRepository,
+                          ArmorRepository armorRepository,
+                          EnemyRepository enemyRepository){
+        this.weaponRepository = weaponRepository;
+        this.armorRepository = armorRepository;
+        this.enemyRepository = enemyRepository;
+    }
+
+    public FighterTemplate resolve(String name){
+        DataVersion current = dataVersion();
+        Templates built = templates.updateAndGet(
+            t -> current.equals(t.version()) ? t : new Templates(current, new ConcurrentHashMap<>()));
+        return built.byName().computeIfAbsent(key(name), k -> build(name));
+    }
+
+    public DataVersion dataVersion(){
+        return DataVersion.of(weaponRepository, armorRepository, enemyRepository);
+    }
+
+    public FighterTemplate archetype(CharacterArchetype archetype){
+        return resolve(archetype.getDisplayName());
+    }
+
+    // Null when no enemy has that name, so callers can report which one was wrong
+    public FighterTemplate enemy(String name){
+        if (!enemyRepository.hasEnemy(name)) return null;
+        return resolve(name);
+    }
+
+    private FighterTemplate build(String name){
+        // Try archetype first
+        for (CharacterArchetype archetype : CharacterArchetype.values()) {
+            if (archetype.name().equalsIgnoreCase(name)
+                || archetype.getDisplayName().equalsIgnoreCase(name)) {
+                return FighterTemplate.of(archetype.create(weaponRepository, armorRepository));
+            }
+        }
+
+        // Try enemy
+        EnemyDefinition enemy = enemyRepository.getEnemyByName(name);
+        if (enemy != null) {
+            return FighterTemplate.of(enemy.toCharacter(weaponRepository, armorRepository));
+        }
+
+        throw new IllegalArgumentException("Unknown fighter: " + name
+            + ". Must be a valid archetype or enemy name.");
+    }
+
+    private static String key(String name){
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Templates(DataVersion version, Map<String, FighterTemplate> byName) {
+    }
+}
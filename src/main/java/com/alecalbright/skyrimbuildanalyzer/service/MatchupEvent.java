@@ -0,0 +1,35 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One matchup resolved by ArchetypeMatchupService, whether simulated, solved exactly or reused
+// from the matchup matrix
+@Name("com.alecalbright.skyrimbuildanalyzer.Matchup")
+@Label("Matchup")
+@Category({"Skyrim Build Analyzer", "Service"})
+@StackTrace(false)
+final class MatchupEvent extends jdk.jfr.Event {
+
+    @Label("Fighter 1")
+    String fighter1;
+
+    @Label("Fighter 2")
+    String fighter2;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Reused")
+    @Description("Served from the matchup matrix without simulating")
+    boolean reused;
+
+    @Label("Fights")
+    int fights;
+
+    @Label("Average Turns")
+    double averageTurns;
+}
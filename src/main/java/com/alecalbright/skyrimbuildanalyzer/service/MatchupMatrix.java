@@ -0,0 +1,172 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// Matchups the tournaments have simulated, one cell per ordered pair and simulation settings.
+// A tournament whose fighter pool grew only simulates the pairs it hasn't seen.
+//
+// Cells are keyed by the tournament seed, not the per-pair seed derived from it. Exact cells
+// never change, and seeded cells replay the same fights. Unseeded cells have no seed in their
+// key, so any unseeded tournament with the same settings reuses them, the way TournamentCache
+// reuses whole unseeded tournaments. They are resampled once they are unseeded-ttl-seconds old.
+//
+// Each cell remembers the fingerprints of the fighter templates it was simulated with. A cell is
+// reused only while both fighters' templates are unchanged, so a reload that adds one enemy keeps every other
+// pair, while one that changes a weapon's stats retires exactly the pairs that fighter is in.
+// Bounded by cell count, least recently used first.
+//
+// New cells are also queued for the MatchupStore, unseeded ones included, and the store's cells
+// are loaded back at startup, so a redeploy doesn't cost the first users a full tournament. The
+// store is periodically compacted to the cells held here, so it is bounded by the same limit.
+@Component
+public class MatchupMatrix {
+
+    public record Cell(
+        String fighter1,
+        String fighter2,
+        int fights,
+        Long seed,
+        SimulationMode mode,
+        Double targetCiWidth
+    ) {}
+
+    public record Stats(
+        long reused,
+        long simulated,
+        long stale,
+        long expired,
+        long evictions,
+        int loaded,
+        int size,
+        int maxCells,
+        long unseededTtlSeconds
+    ) {}
+
+    // simulatedAt is wall-clock milliseconds, so an unseeded cell's age survives a restart
+    private record Entry(long fighter1Fingerprint, long fighter2Fingerprint, MatchupResult result,
+                         long simulatedAt) {}
+
+    // How many distinct tournament seeds recordSeed remembers
+    private static final int RECENT_SEEDS = 1024;
+
+    private final int maxCells;
+    private final long unseededTtlMillis;
+    private final Map<Cell, Entry> cells;
+    private final Map<Long, Boolean> recentSeeds;
+    private final MatchupStore store;
+
+    private long reused;
+    private long simulated;
+    private long stale;
+    private long expired;
+    private long evictions;
+    private int loaded;
+
+    public MatchupMatrix(MatchupStore store,
+                         @Value("${simulation.matrix.max-cells:20000}") int maxCells,
+                         @Value("${simulation.matrix.unseeded-ttl-seconds:600}") long unseededTtlSeconds){
+        this.store = store;
+        this.maxCells = maxCells;
+        this.unseededTtlMillis = TimeUnit.SECONDS.toMillis(unseededTtlSeconds);
+        this.cells = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Cell, Entry> eldest){
+                if (size() <= MatchupMatrix.this.maxCells) return false;
+                evictions++;
+                return true;
+            }
+        };
+        this.recentSeeds = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest){
+                return size() > RECENT_SEEDS;
+            }
+        };
+
+        if (maxCells > 0) {
+            long now = System.currentTimeMillis();
+            for (MatchupStore.Record record : store.load(maxCells)) {
+                if (isExpired(record.cell(), record.simulatedAt(), now)) continue;
+                cells.put(record.cell(), new Entry(record.fighter1Fingerprint(), record.fighter2Fingerprint(),
+                    record.result(), record.simulatedAt()));
+            }
+            evictions = 0;
+            loaded = cells.size();
+            store.compactTo(this::liveRecords);
+        }
+    }
+
+    // Null when the pair hasn't been simulated with these settings and these exact fighters,
+    // or its unseeded sample is too old
+    public synchronized MatchupResult get(Cell cell, FighterTemplate fighter1, FighterTemplate fighter2){
+        Entry entry = cells.get(cell);
+        if (entry != null && !(entry.fighter1Fingerprint() == fighter1.fingerprint()
+                && entry.fighter2Fingerprint() == fighter2.fingerprint())) {
+            cells.remove(cell);
+            stale++;
+            entry = null;
+        } else if (entry != null && isExpired(cell, entry.simulatedAt(), System.currentTimeMillis())) {
+            cells.remove(cell);
+            expired++;
+            entry = null;
+        }
+
+        if (entry == null) {
+            simulated++;
+            return null;
+        }
+        reused++;
+        return entry.result();
+    }
+
+    // The store only queues the record, so this never waits on the disk
+    public void put(Cell cell, FighterTemplate fighter1, FighterTemplate fighter2, MatchupResult result){
+        if (maxCells <= 0 || (isUnseededSample(cell) && unseededTtlMillis <= 0)) return;
+        Entry entry = new Entry(fighter1.fingerprint(), fighter2.fingerprint(), result, System.currentTimeMillis());
+        synchronized (this) {
+            cells.put(cell, entry);
+        }
+        store.append(new MatchupStore.Record(
+            cell, entry.fighter1Fingerprint(), entry.fighter2Fingerprint(), result, entry.simulatedAt()));
+    }
+
+    // Remembers a tournament seed and returns whether it had already been seen. Most seeds are
+    // sent once (a load test sends a fresh one with every call), and their cells would only push
+    // reusable ones out, so tournaments keep their seeded cells only for a seed that comes back.
+    public synchronized boolean recordSeed(long seed){
+        return recentSeeds.put(seed, Boolean.TRUE) != null;
+    }
+
+    // Least recently used first, so a reload trims the same cells eviction would have
+    private synchronized List<MatchupStore.Record> liveRecords(){
+        List<MatchupStore.Record> records = new ArrayList<>(cells.size());
+        cells.forEach((cell, entry) ->
+            records.add(new MatchupStore.Record(
+                cell, entry.fighter1Fingerprint(), entry.fighter2Fingerprint(), entry.result(), entry.simulatedAt())));
+        return records;
+    }
+
+    private boolean isExpired(Cell cell, long simulatedAt, long now){
+        return isUnseededSample(cell) && now - simulatedAt >= unseededTtlMillis;
+    }
+
+    private static boolean isUnseededSample(Cell cell){
+        return cell.seed() == null && cell.mode() != SimulationMode.EXACT;
+    }
+
+    public synchronized Stats getStats(){
+        return new Stats(reused, simulated, stale, expired, evictions, loaded, cells.size(), maxCells,
+            TimeUnit.MILLISECONDS.toSeconds(unseededTtlMillis));
+    }
+}
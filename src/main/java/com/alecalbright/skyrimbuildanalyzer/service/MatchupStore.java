@@ -0,0 +1,236 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// Append-only log of simulated matchup cells on local disk, one JSON record per line, so the
+// matchup matrix survives restarts and redeploys. Later lines for a cell supersede earlier ones.
+// A line cut short by a crash is skipped on load. A record names its fighters by template
+// fingerprint rather than carrying the templates, which the repositories rebuild anyway.
+//
+// Tournament workers only queue records. One writer thread serializes them, flushes once per
+// batch it drains, and does the compaction, so no worker ever waits on the disk.
+//
+// The log never holds much more than the matrix does. Loading streams it and keeps only the most
+// recently written records the matrix has room for, then rewrites it if anything was dropped.
+// While running, every compact-every appends it is rewritten to the records compactTo supplies,
+// so superseded and evicted records don't pile up between restarts.
+//
+// An empty path turns the store off; the matrix then lives in memory only.
+@Component
+public class MatchupStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MatchupStore.class);
+
+    public record Record(
+        MatchupMatrix.Cell cell,
+        long fighter1Fingerprint,
+        long fighter2Fingerprint,
+        MatchupResult result,
+        long simulatedAt
+    ) {}
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final int compactEvery;
+    private final ExecutorService writerThread;
+    private final Queue<Record> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private volatile Supplier<? extends Collection<Record>> live = List::of;
+
+    // Only the writer thread (or load, before it starts) touches these
+    private BufferedWriter writer;
+    private int appendedSinceCompaction;
+    private volatile int appended;
+    private volatile int compactions;
+
+    public MatchupStore(ObjectMapper objectMapper,
+                        @Value("${simulation.store.path:}") String path,
+                        @Value("${simulation.store.compact-every:1000}") int compactEvery){
+        // Derived accessors like MatchupResult.isExact() are written out but aren't record components
+        this.objectMapper = objectMapper.copy().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.path = path.isBlank() ? null : Path.of(path);
+        this.compactEvery = compactEvery;
+        this.writerThread = this.path == null ? null : Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "matchup-store-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled(){
+        return path != null;
+    }
+
+    // Up to maxRecords live records, oldest write first
+    public synchronized List<Record> load(int maxRecords){
+        if (path == null || !Files.exists(path)) return List.of();
+
+        Map<MatchupMatrix.Cell, Record> loaded = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MatchupMatrix.Cell, Record> eldest){
+                return size() > maxRecords;
+            }
+        };
+        int lines = 0;
+        int unreadable = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                lines++;
+                try {
+                    Record record = objectMapper.readValue(line, Record.class);
+                    loaded.remove(record.cell());
+                    loaded.put(record.cell(), record);
+                } catch (JsonProcessingException e) {
+                    unreadable++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read matchup store {}, starting empty: {}", path, e.getMessage());
+            return List.of();
+        }
+
+        log.info("Loaded {} matchups from {} ({} superseded or over the limit, {} unreadable)",
+            loaded.size(), path, lines - unreadable - loaded.size(), unreadable);
+        if (lines > loaded.size()) {
+            compact(loaded.values());
+        }
+        return new ArrayList<>(loaded.values());
+    }
+
+    // What compactions rewrite the log to. Called from the writer thread, so it must not wait on it.
+    public void compactTo(Supplier<? extends Collection<Record>> live){
+        this.live = live;
+    }
+
+    // Never blocks on the disk; the record is written shortly after by the writer thread
+    public void append(Record record){
+        if (path == null) return;
+        pending.add(record);
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                writerThread.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; close() has already written what it is going to
+                pending.clear();
+            }
+        }
+    }
+
+    public int getAppendedCount(){
+        return appended;
+    }
+
+    public int getCompactionCount(){
+        return compactions;
+    }
+
+    // Writes everything queued so far with one flush, so a crash loses at most the last batch.
+    // Clearing the flag before draining means a record queued after the drain schedules another.
+    private synchronized void drain(){
+        drainScheduled.set(false);
+        try {
+            Record record;
+            while ((record = pending.poll()) != null) {
+                if (writer == null) {
+                    if (path.getParent() != null) Files.createDirectories(path.getParent());
+                    writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.newLine();
+                appended++;
+                if (compactEvery > 0 && ++appendedSinceCompaction >= compactEvery) {
+                    closeWriter();
+                    compact(live.get());
+                }
+            }
+            if (writer != null) writer.flush();
+        } catch (IOException e) {
+            // The simulation already succeeded; losing durability shouldn't fail anything
+            log.warn("Could not append to matchup store {}: {}", path, e.getMessage());
+            closeWriter();
+        }
+    }
+
+    // Writes the live records to a sibling file and swaps it in, so a crash mid-compaction
+    // leaves the old log intact
+    private void compact(Collection<Record> records){
+        appendedSinceCompaction = 0;
+        compactions++;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Record record : records) {
+                    out.write(objectMapper.writeValueAsString(record));
+                    out.newLine();
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not compact matchup store {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Writes whatever is still queued, then closes the log
+    @PreDestroy
+    public void close(){
+        if (writerThread == null) return;
+        writerThread.shutdown();
+        try {
+            if (!writerThread.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Matchup store {} still writing at shutdown; the last records may be lost", path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeWriter();
+        }
+    }
+
+    // The next drain reopens the log, which after a compaction is the new file
+    private void closeWriter(){
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close matchup store {}: {}", path, e.getMessage());
+        }
+        writer = null;
+    }
+}
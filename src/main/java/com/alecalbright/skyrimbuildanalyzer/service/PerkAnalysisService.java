@@ -47,7 +47,7 @@ public class PerkAnalysisService {
 
         for (CharacterArchetype archetype : CharacterArchetype.values()) {
             double theoreticalDmg = calculateTheoreticalDamage(archetype);
-            int perkCount = archetype.getPerks().length;
+            int perkCount = archetype.getPerkCount();
             double efficiency = perkCount > 0 ? theoreticalDmg / perkCount : 0.0;
             efficiencyMap.put(archetype, efficiency);
         }
@@ -0,0 +1,105 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// Finished round-robins keyed by everything that determines their result, including the
+// repository data version, so a reload can never serve a stale tournament. Bounded by entry
+// count (least recently used goes first) and by age.
+@Component
+public class TournamentCache {
+
+    public record Key(
+        int fightsPerMatchup,
+        boolean includeEnemies,
+        Long seed,
+        SimulationMode mode,
+        Double targetCiWidth,
+        DataVersion dataVersion
+    ) {}
+
+    public record Stats(
+        long hits,
+        long misses,
+        long evictions,
+        long expirations,
+        int size,
+        int maxEntries,
+        long ttlSeconds
+    ) {}
+
+    private record Entry(List<MatchupResult> matchups, long createdAt) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<Key, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public TournamentCache(@Value("${simulation.tournament.cache.max-entries:32}") int maxEntries,
+                           @Value("${simulation.tournament.cache.ttl-seconds:600}") long ttlSeconds){
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest){
+                if (size() <= TournamentCache.this.maxEntries) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    // The tournament runs outside the lock, so a slow miss never blocks hits on other keys
+    public List<MatchupResult> getOrCompute(Key key, Supplier<List<MatchupResult>> tournament){
+        List<MatchupResult> cached = get(key);
+        if (cached != null) return cached;
+
+        List<MatchupResult> matchups = List.copyOf(tournament.get());
+        put(key, matchups);
+        return matchups;
+    }
+
+    public synchronized List<MatchupResult> get(Key key){
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.createdAt() >= ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.matchups();
+    }
+
+    public synchronized void clear(){
+        entries.clear();
+    }
+
+    public synchronized Stats getStats(){
+        return new Stats(hits, misses, evictions, expirations, entries.size(), maxEntries,
+            TimeUnit.NANOSECONDS.toSeconds(ttlNanos));
+    }
+
+    public synchronized void put(Key key, List<MatchupResult> matchups){
+        if (maxEntries <= 0) return;
+        entries.put(key, new Entry(matchups, System.nanoTime()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One round robin actually played (cache hits don't produce one)
+@Name("com.alecalbright.skyrimbuildanalyzer.Tournament")
+@Label("Tournament")
+@Category({"Skyrim Build Analyzer", "Service"})
+@StackTrace(false)
+final class TournamentEvent extends jdk.jfr.Event {
+
+    @Label("Fighters")
+    int fighters;
+
+    @Label("Matchups")
+    int matchups;
+
+    @Label("Fights Per Matchup")
+    int fightsPerMatchup;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Include Enemies")
+    boolean includeEnemies;
+}
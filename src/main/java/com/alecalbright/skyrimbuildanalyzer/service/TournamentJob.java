@@ -0,0 +1,137 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse.Status;
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentResponse;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+// One background tournament and everything it has finished so far. The worker thread reports
+// into it while request threads read snapshots, so matchup slots are written once and read lock-free.
+// An optional listener sees the same progress as it happens and can cancel the job itself.
+final class TournamentJob implements TournamentProgress {
+
+    final String id;
+    final int fightsPerMatchup;
+    final boolean includeEnemies;
+    final Long seed;
+    final SimulationMode mode;
+    final Double targetCiWidth;
+    final TournamentProgress listener;
+    final Consumer<TournamentJobResponse> onFinished;
+
+    private final AtomicInteger matchupsDone = new AtomicInteger();
+    private volatile AtomicReferenceArray<MatchupResult> matchups = new AtomicReferenceArray<>(0);
+    private volatile boolean cancelRequested;
+
+    private Status status = Status.QUEUED;
+    private TournamentResponse result;
+    private String error;
+    private Future<?> future;
+
+    TournamentJob(String id, int fightsPerMatchup, boolean includeEnemies, Long seed,
+                  SimulationMode mode, Double targetCiWidth,
+                  TournamentProgress listener, Consumer<TournamentJobResponse> onFinished){
+        this.id = id;
+        this.fightsPerMatchup = fightsPerMatchup;
+        this.includeEnemies = includeEnemies;
+        this.seed = seed;
+        this.mode = mode;
+        this.targetCiWidth = targetCiWidth;
+        this.listener = listener;
+        this.onFinished = onFinished;
+    }
+
+    @Override
+    public void started(int totalMatchups){
+        matchups = new AtomicReferenceArray<>(totalMatchups);
+        listener.started(totalMatchups);
+    }
+
+    @Override
+    public void matchupFinished(int index, MatchupResult result){
+        matchups.set(index, result);
+        matchupsDone.incrementAndGet();
+        listener.matchupFinished(index, result);
+    }
+
+    @Override
+    public boolean isCancelled(){
+        return cancelRequested || listener.isCancelled();
+    }
+
+    synchronized void attach(Future<?> future){
+        this.future = future;
+    }
+
+    // False when the job was cancelled while it waited in the queue
+    synchronized boolean start(){
+        if (status != Status.QUEUED) return false;
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void complete(TournamentResponse result){
+        this.result = result;
+        status = Status.COMPLETED;
+    }
+
+    // A tournament stopped by cancellation surfaces as an exception from the worker pool
+    synchronized void fail(RuntimeException e){
+        if (isCancelled()) {
+            status = Status.CANCELLED;
+        } else {
+            status = Status.FAILED;
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+    }
+
+    // Queued jobs never start; running ones stop once their in-flight matchups finish.
+    // True when this call finished the job, i.e. it was still queued.
+    synchronized boolean cancel(){
+        if (status.isFinished()) return false;
+        cancelRequested = true;
+        if (status != Status.QUEUED) return false;
+
+        status = Status.CANCELLED;
+        if (future != null) future.cancel(false);
+        return true;
+    }
+
+    synchronized Status status(){
+        return status;
+    }
+
+    synchronized TournamentResponse result(){
+        return result;
+    }
+
+    synchronized String error(){
+        return error;
+    }
+
+    int matchupsDone(){
+        return matchupsDone.get();
+    }
+
+    int matchupsTotal(){
+        return matchups.length();
+    }
+
+    List<MatchupResult> completedMatchups(){
+        AtomicReferenceArray<MatchupResult> slots = matchups;
+        List<MatchupResult> completed = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            MatchupResult m = slots.get(i);
+            if (m != null) completed.add(m);
+        }
+        return completed;
+    }
+}
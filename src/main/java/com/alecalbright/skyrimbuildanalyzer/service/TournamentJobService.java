@@ -0,0 +1,159 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentResponse;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+import jakarta.annotation.PreDestroy;
+
+// Runs tournaments in the background so a long one doesn't hold an HTTP request open. A fixed
+// number of workers drain a bounded queue; when both are full new jobs are turned away rather
+// than piling up. Each job's matchups still fan out over the shared tournament pool.
+@Service
+public class TournamentJobService {
+
+    private final ArchetypeMatchupService matchupService;
+    private final ThreadPoolExecutor executor;
+    private final int retainedJobs;
+
+    // Insertion order, so the oldest finished jobs are the first to be forgotten
+    private final Map<String, TournamentJob> jobs = new LinkedHashMap<>();
+
+    public TournamentJobService(ArchetypeMatchupService matchupService,
+                                @Value("${simulation.jobs.workers:2}") int workers,
+                                @Value("${simulation.jobs.queue-capacity:8}") int queueCapacity,
+                                @Value("${simulation.jobs.retained:50}") int retainedJobs){
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Tournament jobs need at least one worker and one queue slot");
+        }
+        this.matchupService = matchupService;
+        this.retainedJobs = retainedJobs;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), workerThreads());
+    }
+
+    public TournamentJobResponse submit(int fightsPerMatchup, boolean includeEnemies, Long seed,
+                                        SimulationMode mode, Double targetCiWidth){
+        return submit(fightsPerMatchup, includeEnemies, seed, mode, targetCiWidth, TournamentProgress.NONE, job -> {});
+    }
+
+    // listener hears each matchup as it finishes; onFinished gets the final snapshot however the job
+    // ends, including a cancellation while it was still queued
+    public TournamentJobResponse submit(int fightsPerMatchup, boolean includeEnemies, Long seed,
+                                        SimulationMode mode, Double targetCiWidth,
+                                        TournamentProgress listener, Consumer<TournamentJobResponse> onFinished){
+        TournamentJob job = new TournamentJob(UUID.randomUUID().toString(),
+            fightsPerMatchup, includeEnemies, seed, mode, targetCiWidth, listener, onFinished);
+
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            forgetFinishedJobs();
+        }
+        try {
+            job.attach(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.id);
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many tournament jobs queued, try again later");
+        }
+        return snapshot(job);
+    }
+
+    public TournamentJobResponse getJob(String id){
+        return snapshot(find(id));
+    }
+
+    public TournamentJobResponse cancel(String id){
+        TournamentJob job = find(id);
+        if (job.cancel()) {
+            // Frees the queue slot of a job that was cancelled before it started
+            executor.purge();
+            job.onFinished.accept(snapshot(job));
+        }
+        return snapshot(job);
+    }
+
+    private void run(TournamentJob job){
+        if (!job.start()) return;
+        try {
+            List<String> fighterNames = matchupService.getAllFighterNames(job.includeEnemies);
+            List<MatchupResult> matchups = matchupService.runFullTournament(job.fightsPerMatchup,
+                job.includeEnemies, job.seed, job.mode, job.targetCiWidth, job);
+            job.complete(matchupService.summarizeTournament(job.fightsPerMatchup, matchups, fighterNames));
+        } catch (RuntimeException e) {
+            job.fail(e);
+        }
+        job.onFinished.accept(snapshot(job));
+    }
+
+    private TournamentJob find(String id){
+        TournamentJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown tournament job: " + id);
+        }
+        return job;
+    }
+
+    private TournamentJobResponse snapshot(TournamentJob job){
+        TournamentJobResponse.Status status = job.status();
+        TournamentResponse result = job.result();
+        List<TournamentResponse.MatchupSummary> completed = result != null
+            ? result.matchups()
+            : job.completedMatchups().stream().map(matchupService::summarizeMatchup).toList();
+        return new TournamentJobResponse(job.id, status, job.matchupsDone(), job.matchupsTotal(),
+            completed, result, job.error());
+    }
+
+    // Active jobs are bounded by the executor, so only finished ones need trimming
+    private void forgetFinishedJobs(){
+        int excess = jobs.size() - retainedJobs;
+        Iterator<TournamentJob> it = jobs.values().iterator();
+        while (excess > 0 && it.hasNext()) {
+            if (it.next().status().isFinished()) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+
+    private static ThreadFactory workerThreads(){
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "tournament-job-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        synchronized (jobs) {
+            jobs.values().forEach(TournamentJob::cancel);
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,19 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+
+// Observes a tournament as it runs. Matchups finish out of order on parallel workers, so each
+// carries its index in pair order. Returning true from isCancelled stops the tournament before
+// its next matchup starts.
+public interface TournamentProgress {
+
+    TournamentProgress NONE = new TournamentProgress() {};
+
+    default void started(int totalMatchups){}
+
+    default void matchupFinished(int index, MatchupResult result){}
+
+    default boolean isCancelled(){
+        return false;
+    }
+}
@@ -0,0 +1,140 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.SplittableRandom;
+
+import com.alecalbright.skyrimbuildanalyzer.model.CombatProfile;
+
+// Runs a block of fights between the same two profiles in lockstep: every pass advances
+// each unfinished fight by one turn, with all per-fight state held in primitive arrays.
+// Fights that end are dropped from the active index list, so later passes only touch
+// live fights.
+//
+// Finished blocks are folded straight into a FightAccumulator, so no per-fight objects are made.
+//
+// Each fight replays the SplitMix64 sequence of new SplittableRandom(fightSeed) inline,
+// drawing in the same order as CombatSimulator's scalar loop, so a seeded batch gives
+// exactly the same fights whichever path runs it.
+final class BatchCombatKernel {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private static final byte DRAW = FightAccumulator.DRAW;
+    private static final byte FIGHTER1_WON = FightAccumulator.FIGHTER1_WON;
+    private static final byte FIGHTER2_WON = FightAccumulator.FIGHTER2_WON;
+
+    private final CombatProfile profile1;
+    private final CombatProfile profile2;
+
+    private final long[] rngState = new long[BLOCK_SIZE];
+    private final double[] health1 = new double[BLOCK_SIZE];
+    private final double[] health2 = new double[BLOCK_SIZE];
+    private final double[] damage1 = new double[BLOCK_SIZE];
+    private final double[] damage2 = new double[BLOCK_SIZE];
+    private final int[] turns = new int[BLOCK_SIZE];
+    private final byte[] outcome = new byte[BLOCK_SIZE];
+    private final int[] active = new int[BLOCK_SIZE];
+
+    BatchCombatKernel(CombatProfile profile1, CombatProfile profile2){
+        this.profile1 = profile1;
+        this.profile2 = profile2;
+    }
+
+    // Only valid when both fighters start alive; the scalar loop handles the degenerate case
+    static boolean supports(CombatProfile profile1, CombatProfile profile2){
+        return profile1.maxHealth() > 0 && profile2.maxHealth() > 0;
+    }
+
+    // Simulates numFights fights, taking one seed per fight from seeds, and adds them in order
+    void simulate(SplittableRandom seeds, int numFights, FightAccumulator accumulator){
+        for (int start = 0; start < numFights; start += BLOCK_SIZE) {
+            int count = Math.min(BLOCK_SIZE, numFights - start);
+            runBlock(seeds, count);
+            for (int i = 0; i < count; i++) {
+                accumulator.add(outcome[i], turns[i], damage1[i], damage2[i]);
+            }
+        }
+    }
+
+    private void runBlock(SplittableRandom seeds, int count){
+        double startHealth1 = profile1.maxHealth();
+        double startHealth2 = profile2.maxHealth();
+        double critChance1 = profile1.criticalChance();
+        double critChance2 = profile2.criticalChance();
+        double taken1 = profile1.damageTakenFactor();
+        double taken2 = profile2.damageTakenFactor();
+
+        for (int i = 0; i < count; i++) {
+            rngState[i] = seeds.nextLong();
+            health1[i] = startHealth1;
+            health2[i] = startHealth2;
+            damage1[i] = 0;
+            damage2[i] = 0;
+            turns[i] = CombatSimulator.MAX_TURNS;
+            outcome[i] = DRAW;
+            active[i] = i;
+        }
+
+        int live = count;
+        for (int turn = 1; turn <= CombatSimulator.MAX_TURNS && live > 0; turn++) {
+            boolean sneak1 = turn == 1 && profile1.canSneakAttack();
+            boolean sneak2 = turn == 1 && profile2.canSneakAttack();
+            double hit1 = profile1.calculateDamage(sneak1, false);
+            double critHit1 = profile1.calculateDamage(sneak1, true);
+            double hit2 = profile2.calculateDamage(sneak2, false);
+            double critHit2 = profile2.calculateDamage(sneak2, true);
+            byte endWin1 = turn < CombatSimulator.MAX_TURNS ? FIGHTER1_WON : DRAW;
+            byte endWin2 = turn < CombatSimulator.MAX_TURNS ? FIGHTER2_WON : DRAW;
+
+            int kept = 0;
+            for (int k = 0; k < live; k++) {
+                int i = active[k];
+
+                // Fighter 1 attacks fighter 2
+                boolean crit1 = nextDouble(i) < critChance1;
+                double raw1 = (crit1 ? critHit1 : hit1) * variance(nextDouble(i));
+                double reduced1 = raw1 * taken2;
+                health2[i] = Math.max(health2[i] - reduced1, 0);
+                damage1[i] += reduced1;
+
+                if (health2[i] <= 0) {
+                    turns[i] = turn;
+                    outcome[i] = endWin1;
+                    continue;
+                }
+
+                // Fighter 2 attacks fighter 1
+                boolean crit2 = nextDouble(i) < critChance2;
+                double raw2 = (crit2 ? critHit2 : hit2) * variance(nextDouble(i));
+                double reduced2 = raw2 * taken1;
+                health1[i] = Math.max(health1[i] - reduced2, 0);
+                damage2[i] += reduced2;
+
+                if (health1[i] <= 0) {
+                    turns[i] = turn;
+                    outcome[i] = endWin2;
+                    continue;
+                }
+
+                active[kept++] = i;
+            }
+            live = kept;
+        }
+    }
+
+    // Same arithmetic as CombatSimulator.applyVariance
+    private static double variance(double roll){
+        return 1.0 - CombatSimulator.DAMAGE_VARIANCE + (roll * 2 * CombatSimulator.DAMAGE_VARIANCE);
+    }
+
+    // SplittableRandom.nextDouble() for the generator whose state is rngState[i]
+    private double nextDouble(int i){
+        long z = (rngState[i] += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * DOUBLE_UNIT;
+    }
+}
@@ -2,127 +2,308 @@ package com.alecalbright.skyrimbuildanalyzer.simulation;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.alecalbright.skyrimbuildanalyzer.model.Character;
 import com.alecalbright.skyrimbuildanalyzer.model.CombatEvent;
+import com.alecalbright.skyrimbuildanalyzer.model.CombatProfile;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterState;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
 
 @Service
 public class CombatSimulator {
-    private static final int MAX_TURNS = 1000;
-    private static final double DAMAGE_VARIANCE = 0.10;
+    static final int MAX_TURNS = 1000;
+    static final double DAMAGE_VARIANCE = 0.10;
+    static final String TIMEOUT_DRAW = "Draw (Timeout, Max Turns Exceeded)";
+    static final int MAX_LOGGED_FIGHTS = 10000;
 
-    private final Random random = new Random();
+    // Fights and turns are counted per batch rather than per fight, so the kernel loop stays
+    // untouched; turns per fight is the ratio of the two rates
+    private final Counter fightsSimulated;
+    private final Counter turnsPlayed;
+    private final Timer fixedBatches;
+    private final Timer adaptiveBatches;
+
+    // For use outside Spring: meters on an empty composite registry record nothing
+    public CombatSimulator(){
+        this(new CompositeMeterRegistry());
+    }
+
+    @Autowired
+    public CombatSimulator(MeterRegistry meterRegistry){
+        this.fightsSimulated = Counter.builder("simulation.fights")
+            .description("Fights simulated")
+            .register(meterRegistry);
+        this.turnsPlayed = Counter.builder("simulation.turns")
+            .description("Turns played across all simulated fights")
+            .register(meterRegistry);
+        this.fixedBatches = batchTimer(meterRegistry, "fixed");
+        this.adaptiveBatches = batchTimer(meterRegistry, "adaptive");
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, String kind){
+        return Timer.builder("simulation.batch")
+            .description("Time to simulate one matchup's batch of fights")
+            .tag("kind", kind)
+            .register(meterRegistry);
+    }
 
     public FightResult simulateFight(Character character1, Character character2){
+        return simulateFight(character1, character2, new SplittableRandom(), true);
+    }
+
+    public FightResult simulateFight(Character character1, Character character2, long seed){
+        return simulateFight(character1, character2, new SplittableRandom(seed), true);
+    }
+
+    // Each fight owns its generator, so concurrent fights never share RNG state.
+    // With recordEvents off only the per-fighter tallies are kept and no CombatEvent is allocated.
+    public FightResult simulateFight(Character character1, Character character2,
+                                     SplittableRandom random, boolean recordEvents){
+        FighterState state1 = FighterTemplate.of(character1).newState();
+        FighterState state2 = FighterTemplate.of(character2).newState();
+        FightResult result = simulateFight(state1, state2, random, recordEvents);
+
         character1.reset();
         character2.reset();
+        character1.setHealth(state1.getHealth());
+        character2.setHealth(state2.getHealth());
+        return result;
+    }
+
+    // Fights from the states' current health and leaves each state at its final health.
+    // The turn loop only reads the compiled profiles, so templates can be shared across threads.
+    public FightResult simulateFight(FighterState state1, FighterState state2,
+                                     SplittableRandom random, boolean recordEvents){
+        FightResult result = playFight(state1, state2, random, recordEvents);
+        fightsSimulated.increment();
+        turnsPlayed.increment(result.totalTurns());
+        return result;
+    }
+
+    private FightResult playFight(FighterState state1, FighterState state2,
+                                  SplittableRandom random, boolean recordEvents){
+        CombatProfile profile1 = state1.getProfile();
+        CombatProfile profile2 = state2.getProfile();
 
-        List<CombatEvent> combatEvents = new ArrayList<>();
+        List<CombatEvent> combatEvents = recordEvents ? new ArrayList<>() : List.of();
         int turnCounter = 0;
 
-        while(character1.isAlive() && character2.isAlive() && turnCounter < MAX_TURNS){
+        double health1 = state1.getHealth();
+        double health2 = state2.getHealth();
+
+        double damage1 = 0, damage2 = 0;
+        int hits1 = 0, hits2 = 0;
+        int crits1 = 0, crits2 = 0;
+        int sneaks1 = 0, sneaks2 = 0;
+
+        while(health1 > 0 && health2 > 0 && turnCounter < MAX_TURNS){
             turnCounter++;
 
             // Character 1 attacks Character 2
-            boolean sneak1 = isSneak(character1, turnCounter);
-            boolean crit1 = isCriticalHit(character1);
-            double rawDamage1 = character1.calculateDamage(sneak1, crit1) * applyVariance();
-            double reducedDamage1 = character2.applyDamageReduction(rawDamage1);
-            double blocked1 = rawDamage1 - reducedDamage1;
+            boolean sneak1 = isSneak(profile1, turnCounter);
+            boolean crit1 = isCriticalHit(profile1, random);
+            double rawDamage1 = profile1.calculateDamage(sneak1, crit1) * applyVariance(random);
+            double reducedDamage1 = profile2.applyDamageReduction(rawDamage1);
 
-            character2.takeDamage(reducedDamage1);
-            combatEvents.add(CombatEvent.now(
-                character1.getName(), character2.getName(), reducedDamage1, blocked1,
-                character1.getWeapon().getName(), crit1, sneak1
-            ));
+            health2 = Math.max(health2 - reducedDamage1, 0);
+            damage1 += reducedDamage1;
+            hits1++;
+            if (crit1) crits1++;
+            if (sneak1) sneaks1++;
+            if (recordEvents) {
+                combatEvents.add(CombatEvent.now(
+                    profile1.name(), profile2.name(), reducedDamage1, rawDamage1 - reducedDamage1,
+                    profile1.weaponName(), crit1, sneak1
+                ));
+            }
 
-            if(!character2.isAlive()) break;
+            if(health2 <= 0) break;
 
             // Character 2 attacks Character 1
-            boolean sneak2 = isSneak(character2, turnCounter);
-            boolean crit2 = isCriticalHit(character2);
-            double rawDamage2 = character2.calculateDamage(sneak2, crit2) * applyVariance();
-            double reducedDamage2 = character1.applyDamageReduction(rawDamage2);
-            double blocked2 = rawDamage2 - reducedDamage2;
-
-            character1.takeDamage(reducedDamage2);
-            combatEvents.add(CombatEvent.now(
-                character2.getName(), character1.getName(), reducedDamage2, blocked2,
-                character2.getWeapon().getName(), crit2, sneak2
-            ));
-
-            if(!character1.isAlive()) break;
+            boolean sneak2 = isSneak(profile2, turnCounter);
+            boolean crit2 = isCriticalHit(profile2, random);
+            double rawDamage2 = profile2.calculateDamage(sneak2, crit2) * applyVariance(random);
+            double reducedDamage2 = profile1.applyDamageReduction(rawDamage2);
+
+            health1 = Math.max(health1 - reducedDamage2, 0);
+            damage2 += reducedDamage2;
+            hits2++;
+            if (crit2) crits2++;
+            if (sneak2) sneaks2++;
+            if (recordEvents) {
+                combatEvents.add(CombatEvent.now(
+                    profile2.name(), profile1.name(), reducedDamage2, rawDamage2 - reducedDamage2,
+                    profile2.weaponName(), crit2, sneak2
+                ));
+            }
+
+            if(health1 <= 0) break;
         }
 
+        state1.setHealth(health1);
+        state2.setHealth(health2);
+
         String winner;
         if(turnCounter >= MAX_TURNS){
-            winner = "Draw (Timeout, Max Turns Exceeded)";
+            winner = TIMEOUT_DRAW;
         }
-        else if(character1.isAlive()){
-            winner = character1.getName();
+        else if(health1 > 0){
+            winner = profile1.name();
         }
-        else if(character2.isAlive()){
-            winner = character2.getName();
+        else if(health2 > 0){
+            winner = profile2.name();
         }
         else{
             winner = "Draw (Both Characters Died)";
         }
 
-        return new FightResult(character1.getName(), character2.getName(), winner, turnCounter, combatEvents);
+        return new FightResult(
+            profile1.name(), profile2.name(), winner, turnCounter,
+            new FightResult.FighterTally(damage1, hits1, crits1, sneaks1),
+            new FightResult.FighterTally(damage2, hits2, crits2, sneaks2),
+            combatEvents
+        );
     }
 
-    private boolean isSneak(Character attacker, int turn){
+    private boolean isSneak(CombatProfile attacker, int turn){
         return turn == 1 && attacker.canSneakAttack();
     }
 
-    private boolean isCriticalHit(Character attacker){
-        return random.nextDouble() < attacker.getCriticalChance();
+    private boolean isCriticalHit(CombatProfile attacker, SplittableRandom random){
+        return random.nextDouble() < attacker.criticalChance();
     }
 
-    private double applyVariance(){
+    private double applyVariance(SplittableRandom random){
         return 1.0 - DAMAGE_VARIANCE + (random.nextDouble() * 2 * DAMAGE_VARIANCE);
     }
 
     public MultiSimulationResult simulateMultipleFights(Character character1, Character character2, int numFights){
+        return simulateMultipleFights(character1, character2, numFights, new SplittableRandom().nextLong());
+    }
+
+    public MultiSimulationResult simulateMultipleFights(Character character1, Character character2,
+                                                        int numFights, long seed){
+        return simulateMultipleFights(character1, character2, numFights, seed, false);
+    }
+
+    public MultiSimulationResult simulateMultipleFights(Character character1, Character character2,
+                                                        int numFights, long seed, boolean recordEvents){
+        return simulateMultipleFights(
+            FighterTemplate.of(character1), FighterTemplate.of(character2), numFights, seed, recordEvents);
+    }
+
+    public MultiSimulationResult simulateMultipleFights(FighterTemplate fighter1, FighterTemplate fighter2,
+                                                        int numFights, long seed){
+        return simulateMultipleFights(fighter1, fighter2, numFights, seed, false);
+    }
+
+    // Fight i always draws from the i-th seed of the batch stream, so a seeded batch is reproducible.
+    // Batches run in summary mode on the lockstep BatchCombatKernel and are folded into streaming
+    // statistics as they finish, so memory stays constant however many fights run. Only batches
+    // that ask for the turn-by-turn log keep every FightResult, and those stay capped.
+    public MultiSimulationResult simulateMultipleFights(FighterTemplate fighter1, FighterTemplate fighter2,
+                                                        int numFights, long seed, boolean recordEvents){
         if (numFights < 1){
             throw new IllegalArgumentException("Number of fights must be at least 1");
         }
-        if (numFights > 10000){
-            throw new IllegalArgumentException("Number of fights cannot exceed 10,000 (performance limit)");
+        if (recordEvents && numFights > MAX_LOGGED_FIGHTS){
+            throw new IllegalArgumentException("Number of fights with event logs cannot exceed 10,000 (memory limit)");
         }
 
-        List<FightResult> allFights = new ArrayList<>();
+        SimulationBatchEvent event = new SimulationBatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        FightAccumulator accumulator = new FightAccumulator();
+        List<FightResult> keptFights = recordEvents ? new ArrayList<>(numFights) : List.of();
 
-        int fighter1Wins = 0;
-        int fighter2Wins = 0;
-        int matchDraws = 0;
+        BatchCombatKernel kernel = !recordEvents && BatchCombatKernel.supports(fighter1.profile(), fighter2.profile())
+            ? new BatchCombatKernel(fighter1.profile(), fighter2.profile()) : null;
+        runFights(fighter1, fighter2, kernel, seeds, numFights, recordEvents, accumulator, keptFights);
 
-        for (int i = 0; i < numFights; i++) {
-            FightResult result = simulateFight(character1, character2);
-            allFights.add(result);
+        recordBatch(fixedBatches, start, event, "fixed", fighter1, fighter2, accumulator);
+        return accumulator.toResult(fighter1.name(), fighter2.name(), keptFights);
+    }
 
-            if (result.didFighter1Win()){
-                fighter1Wins++;
-            }
-            else if (result.didFighter2Win()){
-                fighter2Wins++;
-            }
-            else{
-                matchDraws++;
-            }
+    public MultiSimulationResult simulateUntilSettled(Character character1, Character character2,
+                                                      int chunkSize, int maxFights, long seed,
+                                                      StoppingRule stoppingRule){
+        return simulateUntilSettled(
+            FighterTemplate.of(character1), FighterTemplate.of(character2), chunkSize, maxFights, seed, stoppingRule);
+    }
+
+    // Runs summary-mode fights in chunks of chunkSize and stops after the first chunk whose running
+    // totals settle the stopping rule, or at maxFights. Seeds come from the same batch stream as
+    // simulateMultipleFights, so the fights played are exactly the first totalFights() of a
+    // fixed-size batch with the same seed.
+    public MultiSimulationResult simulateUntilSettled(FighterTemplate fighter1, FighterTemplate fighter2,
+                                                      int chunkSize, int maxFights, long seed,
+                                                      StoppingRule stoppingRule){
+        if (chunkSize < 1 || maxFights < 1){
+            throw new IllegalArgumentException("Chunk size and fight limit must be at least 1");
         }
 
-        return new MultiSimulationResult(
-            character1.getName(),
-            character2.getName(),
-            numFights,
-            fighter1Wins,
-            fighter2Wins,
-            matchDraws,
-            allFights
-        );
+        SimulationBatchEvent event = new SimulationBatchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        FightAccumulator accumulator = new FightAccumulator();
+
+        BatchCombatKernel kernel = BatchCombatKernel.supports(fighter1.profile(), fighter2.profile())
+            ? new BatchCombatKernel(fighter1.profile(), fighter2.profile()) : null;
+
+        while (accumulator.fights() < maxFights) {
+            int count = Math.min(chunkSize, maxFights - accumulator.fights());
+            runFights(fighter1, fighter2, kernel, seeds, count, false, accumulator, List.of());
+
+            if (stoppingRule.isSettled(accumulator.fighter1Wins(), accumulator.fighter2Wins(), accumulator.fights())) break;
+        }
+
+        recordBatch(adaptiveBatches, start, event, "adaptive", fighter1, fighter2, accumulator);
+        return accumulator.toResult(fighter1.name(), fighter2.name(), List.of());
+    }
+
+    private void recordBatch(Timer timer, long start, SimulationBatchEvent event, String kind,
+                             FighterTemplate fighter1, FighterTemplate fighter2, FightAccumulator accumulator){
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        fightsSimulated.increment(accumulator.fights());
+        turnsPlayed.increment(accumulator.totalTurns());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.fighter1 = fighter1.name();
+            event.fighter2 = fighter2.name();
+            event.kind = kind;
+            event.fights = accumulator.fights();
+            event.turns = accumulator.totalTurns();
+            event.commit();
+        }
+    }
+
+    // Plays count fights, one seed per fight from seeds; a null kernel means the scalar loop.
+    // Logged fights are also appended to keptFights.
+    private void runFights(FighterTemplate fighter1, FighterTemplate fighter2, BatchCombatKernel kernel,
+                           SplittableRandom seeds, int count, boolean recordEvents,
+                           FightAccumulator accumulator, List<FightResult> keptFights){
+        if (kernel != null) {
+            kernel.simulate(seeds, count, accumulator);
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            FightResult fight = playFight(
+                fighter1.newState(), fighter2.newState(), new SplittableRandom(seeds.nextLong()), recordEvents);
+            accumulator.add(fight);
+            if (recordEvents) keptFights.add(fight);
+        }
     }
 }
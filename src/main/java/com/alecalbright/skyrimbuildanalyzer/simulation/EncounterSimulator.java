@@ -2,10 +2,13 @@ package com.alecalbright.skyrimbuildanalyzer.simulation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import org.springframework.stereotype.Service;
 
 import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterState;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
 
 @Service
 public class EncounterSimulator {
@@ -17,7 +20,26 @@ public class EncounterSimulator {
     }
 
     public EncounterResult simulate(Character player, List<Character> enemies) {
-        player.reset();
+        return simulate(player, enemies, false);
+    }
+
+    public EncounterResult simulate(Character player, List<Character> enemies, boolean recordEvents) {
+        return simulate(FighterTemplate.of(player), enemies.stream().map(FighterTemplate::of).toList(), recordEvents);
+    }
+
+    public EncounterResult simulate(FighterTemplate player, List<FighterTemplate> enemies) {
+        return simulate(player, enemies, false);
+    }
+
+    public EncounterResult simulate(FighterTemplate player, List<FighterTemplate> enemies, boolean recordEvents) {
+        return simulate(player, enemies, recordEvents, PhaseTimer.NONE);
+    }
+
+    // Templates are only read, so one set can back any number of concurrent encounters.
+    // Time inside the fights themselves goes to the timer's "simulation" phase.
+    public EncounterResult simulate(FighterTemplate player, List<FighterTemplate> enemies, boolean recordEvents,
+                                    PhaseTimer timer) {
+        FighterState playerState = player.newState();
 
         List<FightResult> fights = new ArrayList<>();
         int enemiesDefeated = 0;
@@ -25,28 +47,33 @@ public class EncounterSimulator {
         double totalDamageReceived = 0;
         String killedBy = null;
 
-        for (Character enemy : enemies) {
-            enemy.reset();
+        for (FighterTemplate enemy : enemies) {
+            // The player starts every fight at full health
+            playerState.reset();
 
-            FightResult result = combatSimulator.simulateFight(player, enemy);
+            timer.begin("simulation");
+            FightResult result = combatSimulator.simulateFight(
+                playerState, enemy.newState(), new SplittableRandom(), recordEvents);
+            timer.end();
+            timer.countFights(1);
             fights.add(result);
 
-            totalDamageDealt += result.getTotalDamageByFighter(player.getName());
-            totalDamageReceived += result.getTotalDamageByFighter(enemy.getName());
+            totalDamageDealt += result.getTotalDamageByFighter(player.name());
+            totalDamageReceived += result.getTotalDamageByFighter(enemy.name());
 
             if (result.didFighter1Win()) {
                 enemiesDefeated++;
             } else {
-                killedBy = enemy.getName();
+                killedBy = enemy.name();
                 break;
             }
         }
 
-        boolean survived = player.isAlive();
-        double remainingHP = Math.max(player.getHealth(), 0);
+        boolean survived = playerState.isAlive();
+        double remainingHP = playerState.getHealth();
 
         return new EncounterResult(
-            player.getName(),
+            player.name(),
             enemiesDefeated,
             enemies.size(),
             survived,
@@ -59,6 +86,10 @@ public class EncounterSimulator {
     }
 
     public List<EncounterResult> simulateMultiple(Character player, List<Character> enemies, int runs) {
+        return simulateMultiple(FighterTemplate.of(player), enemies.stream().map(FighterTemplate::of).toList(), runs);
+    }
+
+    public List<EncounterResult> simulateMultiple(FighterTemplate player, List<FighterTemplate> enemies, int runs) {
         List<EncounterResult> results = new ArrayList<>();
         for (int i = 0; i < runs; i++) {
             results.add(simulate(player, enemies));
@@ -0,0 +1,229 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.CombatProfile;
+
+// Solves a matchup's outcome distribution instead of sampling it.
+//
+// A fight is a random walk over both fighters' remaining HP, but each fighter's damage rolls
+// are independent of the other's, so the 2-D walk factors into two 1-D Markov chains: for each
+// attacker, the distribution of cumulative damage dealt (discretized into HP cells) after each
+// hit, which gives P(hit t is the killing blow). Fighter 1 swings first every turn, so it wins
+// exactly when its kill hit comes no later than fighter 2's.
+//
+// Each hit convolves the cumulative-damage density with the hit's damage law: a crit/no-crit
+// mixture (sneak multiplier on the first hit) of uniforms spanning the ±10% variance. The
+// density is piecewise constant on the cells, so each convolution is O(cells) via a running
+// integral of the CDF.
+@Service
+public class ExactCombatEngine {
+
+    private static final double NEGLIGIBLE_MASS = 1e-15;
+
+    private final int resolution;
+
+    public ExactCombatEngine(@Value("${simulation.exact.resolution:1024}") int resolution){
+        if (resolution < 16) {
+            throw new IllegalArgumentException("Exact solver resolution must be at least 16 HP cells");
+        }
+        this.resolution = resolution;
+    }
+
+    public ExactFightDistribution solve(Character character1, Character character2){
+        return solve(CombatProfile.of(character1), CombatProfile.of(character2));
+    }
+
+    public ExactFightDistribution solve(CombatProfile profile1, CombatProfile profile2){
+        if (profile1.maxHealth() <= 0 || profile2.maxHealth() <= 0) {
+            throw new IllegalArgumentException("Exact mode requires both fighters to start with positive health");
+        }
+
+        DamageChain chain1 = new DamageChain(profile1, profile2, resolution);
+        DamageChain chain2 = new DamageChain(profile2, profile1, resolution);
+
+        int maxTurns = CombatSimulator.MAX_TURNS;
+        double[] turnProbabilities = new double[maxTurns + 1];
+        double fighter1Wins = 0.0;
+        double fighter2Wins = 0.0;
+
+        double opening1 = expectedHitDamage(profile1, profile2, profile1.canSneakAttack());
+        double opening2 = expectedHitDamage(profile2, profile1, profile2.canSneakAttack());
+        double regular1 = expectedHitDamage(profile1, profile2, false);
+        double regular2 = expectedHitDamage(profile2, profile1, false);
+        double damagePerTurn1 = 0.0;
+        double damagePerTurn2 = 0.0;
+
+        // A kill on the final turn still counts as a timeout draw, matching CombatSimulator.
+        // Once either side is almost surely dead nothing later can change the outcome.
+        int t = 1;
+        for (; t < maxTurns && chain1.alive * chain2.alive > NEGLIGIBLE_MASS; t++) {
+            double fighter1AliveBefore = chain2.alive;
+            double fighter1WinsNow = chain1.step(t) * fighter1AliveBefore;
+            double fighter2WinsNow = chain2.step(t) * chain1.alive;
+
+            fighter1Wins += fighter1WinsNow;
+            fighter2Wins += fighter2WinsNow;
+            turnProbabilities[t] = fighter1WinsNow + fighter2WinsNow;
+
+            // Fighter 1 always swings t times in a t-turn fight; fighter 2 misses its last swing
+            // when fighter 1 lands the kill first
+            double fullTurn = 1.0 / t;
+            damagePerTurn1 += turnProbabilities[t] * (opening1 + (t - 1) * regular1) * fullTurn;
+            damagePerTurn2 += fighter2WinsNow * (opening2 + (t - 1) * regular2) * fullTurn;
+            if (t > 1) {
+                damagePerTurn2 += fighter1WinsNow * (opening2 + (t - 2) * regular2) * fullTurn;
+            }
+        }
+
+        double draws = Math.max(0.0, 1.0 - fighter1Wins - fighter2Wins);
+        // Only a fight that reaches the turn cap ends in a draw. When the loop stopped early, no
+        // fight gets that far, so the distribution ends at the last turn played rather than
+        // carrying zeros out to the cap.
+        if (t == maxTurns) {
+            turnProbabilities[maxTurns] = draws;
+        } else {
+            turnProbabilities = Arrays.copyOf(turnProbabilities, t);
+        }
+        damagePerTurn1 += draws * (opening1 + (maxTurns - 1) * regular1) / maxTurns;
+        damagePerTurn2 += draws * (opening2 + (maxTurns - 1) * regular2) / maxTurns;
+
+        return new ExactFightDistribution(
+            profile1.name(),
+            profile2.name(),
+            fighter1Wins,
+            fighter2Wins,
+            draws,
+            turnProbabilities,
+            damagePerTurn1,
+            damagePerTurn2
+        );
+    }
+
+    // Mean post-armor damage of one hit; the variance roll is symmetric around 1.0
+    private static double expectedHitDamage(CombatProfile attacker, CombatProfile defender, boolean sneak){
+        double critChance = Math.min(Math.max(attacker.criticalChance(), 0.0), 1.0);
+        double normal = attacker.calculateDamage(sneak, false);
+        double critical = attacker.calculateDamage(sneak, true);
+        return ((1.0 - critChance) * normal + critChance * critical) * defender.damageTakenFactor();
+    }
+
+    // Distribution of one attacker's cumulative post-armor damage against one defender,
+    // in cells of defenderHealth / resolution. Mass that reaches the last cell is a kill.
+    private static final class DamageChain {
+        private final CombatProfile attacker;
+        private final double scale;
+        private final double critChance;
+        private final int cells;
+
+        private double[] density;
+        private double[] next;
+        private final double[] cdf;
+        private final double[] cdfIntegral;
+
+        // Before the first hit all mass sits at exactly 0 damage rather than spread over a cell
+        private boolean atOrigin = true;
+        private int supportLow = 0;
+        private int supportHigh = 0;
+        private double alive = 1.0;
+
+        DamageChain(CombatProfile attacker, CombatProfile defender, int cells){
+            this.attacker = attacker;
+            this.cells = cells;
+            this.scale = defender.damageTakenFactor() / (defender.maxHealth() / cells);
+            this.critChance = Math.min(Math.max(attacker.criticalChance(), 0.0), 1.0);
+            this.density = new double[cells];
+            this.next = new double[cells];
+            this.cdf = new double[cells + 1];
+            this.cdfIntegral = new double[cells + 1];
+        }
+
+        // Applies the attacker's hit-th swing and returns P(that swing is the killing blow)
+        double step(int hit){
+            if (alive <= 0) return 0.0;
+
+            boolean sneak = hit == 1 && attacker.canSneakAttack();
+            double normal = attacker.calculateDamage(sneak, false) * scale;
+            double critical = attacker.calculateDamage(sneak, true) * scale;
+            if (normal <= 0 && critical <= 0) return 0.0;
+
+            double normalLow = normal * (1.0 - CombatSimulator.DAMAGE_VARIANCE);
+            double normalHigh = normal * (1.0 + CombatSimulator.DAMAGE_VARIANCE);
+            double criticalLow = critical * (1.0 - CombatSimulator.DAMAGE_VARIANCE);
+            double criticalHigh = critical * (1.0 + CombatSimulator.DAMAGE_VARIANCE);
+
+            if (!atOrigin) {
+                cdf[supportLow] = 0.0;
+                cdfIntegral[supportLow] = 0.0;
+                for (int k = supportLow; k < supportHigh; k++) {
+                    cdf[k + 1] = cdf[k] + density[k];
+                    cdfIntegral[k + 1] = cdfIntegral[k] + (cdf[k] + cdf[k + 1]) * 0.5;
+                }
+            }
+
+            // Only cells the shifted support can reach need evaluating; above them the CDF is flat
+            int low = Math.min((int) (supportLow + Math.min(normalLow, criticalLow)), cells);
+            int high = Math.min((int) Math.ceil(supportHigh + Math.max(normalHigh, criticalHigh)) + 1, cells);
+
+            Arrays.fill(next, 0.0);
+            double previous = 0.0;
+            int newLow = -1;
+            int newHigh = low;
+            for (int j = low + 1; j <= high; j++) {
+                double below = (1.0 - critChance) * convolvedCdf(j, normalLow, normalHigh)
+                    + critChance * convolvedCdf(j, criticalLow, criticalHigh);
+                double mass = below - previous;
+                if (mass > 0) {
+                    next[j - 1] = mass;
+                    if (newLow < 0) newLow = j - 1;
+                    newHigh = j;
+                    previous = below;
+                }
+            }
+
+            double survived = Math.min(previous, alive);
+            double killed = alive - survived;
+
+            double[] swap = density;
+            density = next;
+            next = swap;
+            atOrigin = false;
+            supportLow = Math.max(newLow, 0);
+            supportHigh = Math.max(newHigh, supportLow);
+            alive = survived;
+            return killed;
+        }
+
+        // P(cumulative damage after this hit <= y), for a hit uniform on [low, high) cells
+        private double convolvedCdf(double y, double low, double high){
+            if (high - low <= 0) {
+                return cdfAt(y - low);
+            }
+            return (integralOfCdf(y - low) - integralOfCdf(y - high)) / (high - low);
+        }
+
+        private double cdfAt(double x){
+            if (x < supportLow) return 0.0;
+            if (atOrigin) return alive;
+            if (x >= supportHigh) return cdf[supportHigh];
+
+            int k = (int) x;
+            return cdf[k] + (x - k) * density[k];
+        }
+
+        // Integral of the CDF from -infinity to x
+        private double integralOfCdf(double x){
+            if (x <= supportLow) return 0.0;
+            if (atOrigin) return alive * x;
+            if (x >= supportHigh) return cdfIntegral[supportHigh] + (x - supportHigh) * cdf[supportHigh];
+
+            int k = (int) x;
+            double f = x - k;
+            return cdfIntegral[k] + f * cdf[k] + f * f * 0.5 * density[k];
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.List;
+
+// Outcome probabilities for one matchup, solved analytically instead of sampled.
+// turnProbabilities[t] is the probability that a fight lasts exactly t turns, and the
+// damage-per-turn figures are expectations over that fight-length distribution. The array ends
+// at the last turn any fight reaches; only when that is the turn cap does it hold the draws.
+public record ExactFightDistribution(
+    String fighter1Name,
+    String fighter2Name,
+    double fighter1WinProbability,
+    double fighter2WinProbability,
+    double drawProbability,
+    double[] turnProbabilities,
+    double fighter1DamagePerTurn,
+    double fighter2DamagePerTurn
+) {
+
+    private static final double NEGLIGIBLE = 1e-12;
+
+    public double fighter1WinRate(){
+        return fighter1WinProbability * 100.0;
+    }
+
+    public double fighter2WinRate(){
+        return fighter2WinProbability * 100.0;
+    }
+
+    public double averageFightDuration(){
+        double expected = 0.0;
+        for (int t = 1; t < turnProbabilities.length; t++) {
+            expected += t * turnProbabilities[t];
+        }
+        return expected;
+    }
+
+    // Mean length of fights that ended in a kill before the turn cap
+    public double averageTimeToKill(){
+        double decisive = fighter1WinProbability + fighter2WinProbability;
+        if (decisive <= NEGLIGIBLE) return 0.0;
+
+        double expected = 0.0;
+        int decisiveTurns = Math.min(turnProbabilities.length, CombatSimulator.MAX_TURNS);
+        for (int t = 1; t < decisiveTurns; t++) {
+            expected += t * turnProbabilities[t];
+        }
+        return expected / decisive;
+    }
+
+    public int shortestFightDuration(){
+        for (int t = 1; t < turnProbabilities.length; t++) {
+            if (turnProbabilities[t] > NEGLIGIBLE) return t;
+        }
+        return 0;
+    }
+
+    public int longestFightDuration(){
+        for (int t = turnProbabilities.length - 1; t > 0; t--) {
+            if (turnProbabilities[t] > NEGLIGIBLE) return t;
+        }
+        return 0;
+    }
+
+    public double fightDurationVariance(){
+        double mean = averageFightDuration();
+        double variance = 0.0;
+        for (int t = 1; t < turnProbabilities.length; t++) {
+            variance += (t - mean) * (t - mean) * turnProbabilities[t];
+        }
+        return variance;
+    }
+
+    // Expected outcome counts over a notional batch, for callers that aggregate win/loss records
+    public MultiSimulationResult toExpectedResult(int numFights){
+        int fighter1Wins = (int) Math.round(fighter1WinProbability * numFights);
+        int fighter2Wins = Math.min((int) Math.round(fighter2WinProbability * numFights), numFights - fighter1Wins);
+
+        FightStatistics statistics = new FightStatistics(
+            shortestFightDuration(),
+            longestFightDuration(),
+            averageFightDuration(),
+            fightDurationVariance(),
+            fighter1Wins + fighter2Wins,
+            averageTimeToKill(),
+            fighter1DamagePerTurn,
+            fighter2DamagePerTurn
+        );
+
+        return new MultiSimulationResult(
+            fighter1Name,
+            fighter2Name,
+            numFights,
+            fighter1Wins,
+            fighter2Wins,
+            numFights - fighter1Wins - fighter2Wins,
+            statistics,
+            List.of()
+        );
+    }
+
+    @Override
+    public String toString(){
+        return String.format(
+            "%s vs %s (exact): %s wins %.2f%% | %s wins %.2f%% | Draws: %.2f%%",
+            fighter1Name, fighter2Name,
+            fighter1Name, fighter1WinRate(),
+            fighter2Name, fighter2WinRate(),
+            drawProbability * 100.0
+        );
+    }
+}
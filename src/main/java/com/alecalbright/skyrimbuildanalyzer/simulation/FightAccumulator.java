@@ -0,0 +1,109 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.List;
+
+// Running totals for a batch of fights: outcome counters, min/max length and Welford
+// mean/variance, so a batch of any size is summarized in constant memory.
+final class FightAccumulator {
+
+    static final byte DRAW = 0;
+    static final byte FIGHTER1_WON = 1;
+    static final byte FIGHTER2_WON = 2;
+
+    private int fights;
+    private int fighter1Wins;
+    private int fighter2Wins;
+    private int draws;
+    private long totalTurns;
+
+    private int shortest = Integer.MAX_VALUE;
+    private int longest;
+    private double meanTurns;
+    private double turnSquaredDeviations;
+
+    private int decisiveFights;
+    private double meanTimeToKill;
+
+    private int timedFights;
+    private double meanDamagePerTurn1;
+    private double meanDamagePerTurn2;
+
+    void add(FightResult fight){
+        byte outcome = fight.didFighter1Win() ? FIGHTER1_WON
+            : fight.didFighter2Win() ? FIGHTER2_WON
+            : DRAW;
+        add(outcome, fight.totalTurns(), fight.fighter1Tally().damageDealt(), fight.fighter2Tally().damageDealt());
+    }
+
+    void add(byte outcome, int turns, double damage1, double damage2){
+        fights++;
+        switch (outcome) {
+            case FIGHTER1_WON -> fighter1Wins++;
+            case FIGHTER2_WON -> fighter2Wins++;
+            default -> draws++;
+        }
+
+        totalTurns += turns;
+        shortest = Math.min(shortest, turns);
+        longest = Math.max(longest, turns);
+        double delta = turns - meanTurns;
+        meanTurns += delta / fights;
+        turnSquaredDeviations += delta * (turns - meanTurns);
+
+        if (outcome != DRAW) {
+            decisiveFights++;
+            meanTimeToKill += (turns - meanTimeToKill) / decisiveFights;
+        }
+
+        // A fight where someone started dead has no turns and no meaningful rate
+        if (turns > 0) {
+            timedFights++;
+            meanDamagePerTurn1 += (damage1 / turns - meanDamagePerTurn1) / timedFights;
+            meanDamagePerTurn2 += (damage2 / turns - meanDamagePerTurn2) / timedFights;
+        }
+    }
+
+    int fights(){
+        return fights;
+    }
+
+    long totalTurns(){
+        return totalTurns;
+    }
+
+    int fighter1Wins(){
+        return fighter1Wins;
+    }
+
+    int fighter2Wins(){
+        return fighter2Wins;
+    }
+
+    FightStatistics toStatistics(){
+        if (fights == 0) return FightStatistics.EMPTY;
+
+        return new FightStatistics(
+            shortest,
+            longest,
+            meanTurns,
+            fights > 1 ? turnSquaredDeviations / (fights - 1) : 0.0,
+            decisiveFights,
+            meanTimeToKill,
+            meanDamagePerTurn1,
+            meanDamagePerTurn2
+        );
+    }
+
+    MultiSimulationResult toResult(String fighter1Name, String fighter2Name, List<FightResult> keptFights){
+        return new MultiSimulationResult(
+            fighter1Name,
+            fighter2Name,
+            fights,
+            fighter1Wins,
+            fighter2Wins,
+            draws,
+            toStatistics(),
+            keptFights
+        );
+    }
+}
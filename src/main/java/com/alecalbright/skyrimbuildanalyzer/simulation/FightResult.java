@@ -9,13 +9,27 @@ public record FightResult(
     String fighter2Name,
     String winnerName,
     int totalTurns,
+    FighterTally fighter1Tally,
+    FighterTally fighter2Tally,
     List<CombatEvent> combatEvents
 ) {
 
+    // Per-fighter totals kept by the simulator whether or not the event log is recorded
+    public record FighterTally(
+        double damageDealt,
+        int hits,
+        int criticalHits,
+        int sneakAttacks
+    ) {}
+
     public FightResult {
         combatEvents = List.copyOf(combatEvents);
     }
 
+    public boolean hasEventLog(){
+        return !combatEvents.isEmpty();
+    }
+
     public boolean didFighter1Win(){
         return winnerName.equals(fighter1Name);
     }
@@ -29,16 +43,14 @@ public record FightResult(
     }
 
     public double getTotalDamageByFighter(String fighterName){
-        return combatEvents.stream()
-            .filter(event -> event.attackerName().equals(fighterName))
-            .mapToDouble(CombatEvent::damageDealt)
-            .sum();
+        double total = 0.0;
+        if (fighter1Name.equals(fighterName)) total += fighter1Tally.damageDealt();
+        if (fighter2Name.equals(fighterName)) total += fighter2Tally.damageDealt();
+        return total;
     }
 
     public double getAverageDamageByFighter(String fighterName){
-        long attackCount = combatEvents.stream()
-            .filter(event -> event.attackerName().equals(fighterName))
-            .count();
+        long attackCount = getAttackCountByFighter(fighterName);
 
         if(attackCount == 0) return 0.0;
 
@@ -46,16 +58,18 @@ public record FightResult(
     }
 
     public long getAttackCountByFighter(String fighterName){
-        return combatEvents.stream()
-            .filter(event -> event.attackerName().equals(fighterName))
-            .count();
+        long count = 0;
+        if (fighter1Name.equals(fighterName)) count += fighter1Tally.hits();
+        if (fighter2Name.equals(fighterName)) count += fighter2Tally.hits();
+        return count;
     }
 
     @Override
     public String toString(){
         return String.format(
-            "Fight: %s vs %s | Winner: %s | Turns: %d | Events: %d",
-            fighter1Name, fighter2Name, winnerName, totalTurns, combatEvents.size()
+            "Fight: %s vs %s | Winner: %s | Turns: %d | Hits: %d/%d",
+            fighter1Name, fighter2Name, winnerName, totalTurns,
+            fighter1Tally.hits(), fighter2Tally.hits()
         );
     }
 }
@@ -0,0 +1,21 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+// Streaming summary of a batch of fights; its size doesn't depend on how many fights ran.
+// Damage per turn is each fighter's damage divided by the fight's length, averaged over fights.
+public record FightStatistics(
+    int shortestFight,
+    int longestFight,
+    double meanTurns,
+    double turnVariance,
+    int decisiveFights,
+    double meanTimeToKill,
+    double fighter1DamagePerTurn,
+    double fighter2DamagePerTurn
+) {
+
+    public static final FightStatistics EMPTY = new FightStatistics(0, 0, 0.0, 0.0, 0, 0.0, 0.0, 0.0);
+
+    public double turnStandardDeviation(){
+        return Math.sqrt(turnVariance);
+    }
+}
@@ -2,6 +2,8 @@ package com.alecalbright.skyrimbuildanalyzer.simulation;
 
 import java.util.List;
 
+// Fight-by-fight results are only kept for event-log batches; summary batches carry
+// the streaming statistics alone, so their size doesn't grow with the fight count.
 public record MultiSimulationResult(
     String fighter1Name,
     String fighter2Name,
@@ -9,6 +11,7 @@ public record MultiSimulationResult(
     int fighter1Wins,
     int fighter2Wins,
     int draws,
+    FightStatistics statistics,
     List<FightResult> allFights
 ) {
 
@@ -39,16 +42,19 @@ public record MultiSimulationResult(
     }
 
     public double averageFightDuration(){
-        if(allFights.isEmpty()) return 0.0;
-        return allFights.stream().mapToInt(FightResult::totalTurns).average().orElse(0.0);
+        return statistics.meanTurns();
+    }
+
+    public double fightDurationStandardDeviation(){
+        return statistics.turnStandardDeviation();
     }
 
     public int shortestFightDuration(){
-        return allFights.stream().mapToInt(FightResult::totalTurns).min().orElse(0);
+        return statistics.shortestFight();
     }
 
     public int longestFightDuration(){
-        return allFights.stream().mapToInt(FightResult::totalTurns).max().orElse(0);
+        return statistics.longestFight();
     }
 
     @Override
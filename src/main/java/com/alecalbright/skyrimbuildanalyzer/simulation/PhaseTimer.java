@@ -0,0 +1,102 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+// Wall-clock time per phase of one request, plus the fights it ran.
+// Phases nest, and an inner phase pauses the one around it, so every nanosecond is charged to
+// exactly one phase and the phases add up to the time spent inside them.
+//
+// One request, one thread: a timer is not shared. NONE ignores everything, so untimed callers
+// pay nothing beyond the calls themselves.
+public final class PhaseTimer {
+
+    public static final PhaseTimer NONE = new PhaseTimer(false);
+
+    private final boolean enabled;
+    private final Map<String, Long> nanosByPhase = new LinkedHashMap<>();
+    private final Deque<String> open = new ArrayDeque<>();
+    private long lastMark;
+    private long fights;
+
+    private PhaseTimer(boolean enabled){
+        this.enabled = enabled;
+    }
+
+    public static PhaseTimer start(){
+        return new PhaseTimer(true);
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    public void begin(String phase){
+        if (!enabled) return;
+        chargeOpenPhase();
+        open.push(phase);
+    }
+
+    public void end(){
+        if (!enabled || open.isEmpty()) return;
+        chargeOpenPhase();
+        open.pop();
+    }
+
+    public <T> T time(String phase, Supplier<T> work){
+        begin(phase);
+        try {
+            return work.get();
+        } finally {
+            end();
+        }
+    }
+
+    public void countFights(long count){
+        if (enabled) fights += count;
+    }
+
+    public long fights(){
+        return fights;
+    }
+
+    // Milliseconds per phase, in the order the phases first ran
+    public Map<String, Double> phaseMillis(){
+        Map<String, Double> millis = new LinkedHashMap<>();
+        nanosByPhase.forEach((phase, nanos) -> millis.put(phase, nanos / 1_000_000.0));
+        return millis;
+    }
+
+    public double totalMillis(){
+        long total = 0;
+        for (long nanos : nanosByPhase.values()) total += nanos;
+        return total / 1_000_000.0;
+    }
+
+    // e.g. repository;dur=0.012, resolve;dur=0.051, simulation;dur=3.870;desc="500 fights"
+    public String toServerTiming(){
+        StringJoiner header = new StringJoiner(", ");
+        nanosByPhase.forEach((phase, nanos) -> {
+            String entry = phase + ";dur=" + String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+            if (phase.equals("simulation")) {
+                entry += ";desc=\"" + fights + " fights\"";
+            }
+            header.add(entry);
+        });
+        header.add("total;dur=" + String.format(Locale.ROOT, "%.3f", totalMillis()));
+        return header.toString();
+    }
+
+    private void chargeOpenPhase(){
+        long now = System.nanoTime();
+        if (!open.isEmpty()) {
+            nanosByPhase.merge(open.peek(), now - lastMark, Long::sum);
+        }
+        lastMark = now;
+    }
+}
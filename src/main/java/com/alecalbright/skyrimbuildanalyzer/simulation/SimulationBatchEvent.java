@@ -0,0 +1,34 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One simulateMultipleFights / simulateUntilSettled batch. Created and timed on every batch,
+// but only filled in and committed when a recording has the event enabled.
+@Name("com.alecalbright.skyrimbuildanalyzer.SimulationBatch")
+@Label("Simulation Batch")
+@Category({"Skyrim Build Analyzer", "Simulation"})
+@Description("A batch of seeded fights between two fighters")
+@StackTrace(false)
+final class SimulationBatchEvent extends jdk.jfr.Event {
+
+    @Label("Fighter 1")
+    String fighter1;
+
+    @Label("Fighter 2")
+    String fighter2;
+
+    @Label("Kind")
+    @Description("fixed or adaptive")
+    String kind;
+
+    @Label("Fights")
+    int fights;
+
+    @Label("Turns")
+    @Description("Turns played across all fights in the batch")
+    long turns;
+}
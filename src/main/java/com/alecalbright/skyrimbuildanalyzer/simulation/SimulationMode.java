@@ -0,0 +1,10 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+public enum SimulationMode {
+    // Sample a batch of random fights
+    MONTE_CARLO,
+    // Sample fights in chunks until the win-rate interval is tight enough or the winner is clear
+    ADAPTIVE,
+    // Solve the outcome distribution analytically, with no sampling noise
+    EXACT
+}
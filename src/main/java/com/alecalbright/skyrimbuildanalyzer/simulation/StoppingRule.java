@@ -0,0 +1,7 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+// Decides, between chunks of an adaptive batch, whether enough fights have been played
+@FunctionalInterface
+public interface StoppingRule {
+    boolean isSettled(int fighter1Wins, int fighter2Wins, int fightsSoFar);
+}
@@ -0,0 +1,40 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class TournamentExecutor {
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    // parallelism <= 0 means one worker per available core
+    public TournamentExecutor(@Value("${simulation.tournament.parallelism:0}") int parallelism){
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    // Runs every task on the pool and returns the results in the same order as the input
+    public <T, R> List<R> mapInOrder(List<T> tasks, Function<T, R> work){
+        if (parallelism == 1 || tasks.size() < 2) {
+            return tasks.stream().map(work).toList();
+        }
+        return pool.submit(() -> tasks.parallelStream().map(work).toList()).join();
+    }
+
+    public int getParallelism(){
+        return parallelism;
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        pool.shutdownNow();
+    }
+}
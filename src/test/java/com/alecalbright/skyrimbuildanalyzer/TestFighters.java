@@ -0,0 +1,49 @@
+package com.alecalbright.skyrimbuildanalyzer;
+
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Armor;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorType;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorWeight;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.Shield;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+// Archetype fighters with fixed gear, independent of the repositories, for tests that need the
+// same fighters every run. Each call builds a new Character.
+public final class TestFighters {
+
+    private TestFighters() {
+    }
+
+    public static Character assassin() {
+        return CharacterArchetype.ASSASSIN.create(
+            new Weapon("Blade of Woe", 12, 1.3, WeaponType.ONE_HANDED_DAGGER),
+            new Armor("Hide Armor", 40, ArmorType.HIDE), null);
+    }
+
+    public static Character stealthArcher() {
+        return CharacterArchetype.STEALTH_ARCHER.create(
+            new Weapon("Zephyr", 12, 1.5, WeaponType.BOW),
+            new Armor("Elven Armor", 82, ArmorType.ELVEN), null);
+    }
+
+    public static Character paladin() {
+        return CharacterArchetype.PALADIN.create(
+            new Weapon("Dawnbreaker", 12, 1.0, WeaponType.ONE_HANDED_SWORD),
+            new Armor("Ebony Armor", 128, ArmorType.EBONY),
+            new Shield("Daedric Shield", 36, ArmorWeight.HEAVY));
+    }
+
+    public static Character berserker() {
+        return CharacterArchetype.DUAL_WIELDING_BERSERKER.create(
+            new Weapon("Chillrend", 15, 1.0, WeaponType.ONE_HANDED_SWORD),
+            new Armor("Elven Armor", 82, ArmorType.ELVEN), null);
+    }
+
+    public static Character twoHandedWarrior() {
+        return CharacterArchetype.TWO_HANDED_WARRIOR.create(
+            new Weapon("Daedric Greatsword", 24, 0.75, WeaponType.TWO_HANDED_GREATSWORD),
+            new Armor("Ebony Armor", 128, ArmorType.EBONY), null);
+    }
+}
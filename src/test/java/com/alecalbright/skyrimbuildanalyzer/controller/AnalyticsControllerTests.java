@@ -0,0 +1,76 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void debugMatchupAddsTheBreakdownBesideTheUsualFields() throws Exception {
+        String query = "/analytics/matchup?a1=ASSASSIN&a2=PALADIN&fights=300&seed=4";
+        JsonNode plain = json(mockMvc.perform(get(query)).andReturn().getResponse());
+        MockHttpServletResponse response = mockMvc.perform(get(query + "&debug=true")).andReturn().getResponse();
+        ObjectNode withDebug = (ObjectNode) json(response);
+
+        JsonNode debug = withDebug.remove("debug");
+        assertEquals(plain, withDebug);
+        assertEquals(300, debug.get("fightsRun").asLong());
+        assertTrue(debug.get("phasesMs").has("simulation"));
+        assertTrue(debug.get("totalMs").asDouble() > 0);
+        assertFalse(debug.has("eventsAllocated"));
+        assertTrue(response.getHeader("Server-Timing").contains("simulation;dur="));
+        assertTrue(response.getHeader("Server-Timing").contains("serialization;dur="));
+    }
+
+    @Test
+    void oversizedRequestsAreRejectedBeforeAnyFightRuns() throws Exception {
+        assertEquals(400, status("/analytics/matchup?a1=ASSASSIN&a2=PALADIN&fights=2000000000"));
+        assertEquals(400, status("/analytics/matchup?a1=ASSASSIN&a2=PALADIN&fights=0"));
+        assertEquals(400, status("/analytics/encounter?archetype=ASSASSIN&enemies=Bandit&fights=2000000000"));
+        // Under the per-matchup limit, but not once every pair plays it
+        assertEquals(400, status("/analytics/rankings?fights=5000000"));
+        assertEquals(400, mockMvc.perform(post("/analytics/jobs/tournament?fights=5000000"))
+            .andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void adaptiveTargetWidthMustBeAPositivePercentage() throws Exception {
+        String matchup = "/analytics/matchup?a1=ASSASSIN&a2=PALADIN&fights=300&mode=adaptive&ciWidth=";
+        assertEquals(400, status(matchup + "0"));
+        assertEquals(400, status(matchup + "-5"));
+        assertEquals(400, status(matchup + "NaN"));
+        assertEquals(400, status("/analytics/tournament?mode=adaptive&ciWidth=150"));
+        assertEquals(200, status(matchup + "10"));
+    }
+
+    private int status(String query) throws Exception {
+        return mockMvc.perform(get(query)).andReturn().getResponse().getStatus();
+    }
+
+    private JsonNode json(MockHttpServletResponse response) throws Exception {
+        assertEquals(200, response.getStatus());
+        return objectMapper.readTree(response.getContentAsByteArray());
+    }
+}
@@ -0,0 +1,97 @@
+package com.alecalbright.skyrimbuildanalyzer.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+import com.alecalbright.skyrimbuildanalyzer.service.TournamentJobService;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+@SpringBootTest
+class TournamentEventStreamTests {
+
+    @Autowired
+    private ArchetypeMatchupService matchupService;
+
+    @Autowired
+    private TournamentJobService jobService;
+
+    @Test
+    void streamsEveryCellThenCompletes() throws InterruptedException {
+        List<String> fighterNames = matchupService.getAllFighterNames(false);
+        RecordingEmitter emitter = new RecordingEmitter();
+        TournamentEventStream stream = new TournamentEventStream(emitter, matchupService, fighterNames, 4, 30);
+
+        jobService.submit(60, false, 12L, SimulationMode.MONTE_CARLO, null, stream, stream::finished);
+        Thread sender = Thread.ofVirtual().start(stream::sendAll);
+        sender.join(60_000);
+
+        int total = fighterNames.size() * (fighterNames.size() - 1) / 2;
+        assertEquals(total, emitter.events.stream().filter("matchup"::equals).count());
+        assertTrue(emitter.events.contains("rankings"));
+        assertEquals("complete", emitter.events.get(emitter.events.size() - 1));
+    }
+
+    @Test
+    void fullBufferPastTheSendTimeoutCancelsTheTournament() {
+        List<String> fighterNames = matchupService.getAllFighterNames(false);
+        TournamentEventStream stream = new TournamentEventStream(
+            new RecordingEmitter(), matchupService, fighterNames, 1, 0);
+        MatchupResult matchup = matchupService.getSpecificMatchup(fighterNames.get(0), fighterNames.get(1), 10, 1L);
+
+        // Nothing drains the buffer, so the second cell can't be queued
+        stream.matchupFinished(0, matchup);
+        assertFalse(stream.isCancelled());
+        stream.matchupFinished(1, matchup);
+        assertTrue(stream.isCancelled());
+    }
+
+    @Test
+    void clientThatNeverReadsDoesNotHoldUpOtherTournaments() throws InterruptedException {
+        List<String> fighterNames = matchupService.getAllFighterNames(false);
+        int total = fighterNames.size() * (fighterNames.size() - 1) / 2;
+        // No sender ever drains this stream, and it only gives up on the client after five minutes
+        TournamentEventStream stream = new TournamentEventStream(
+            new RecordingEmitter(), matchupService, fighterNames, 1, 300);
+        CountDownLatch streamedTournamentDone = new CountDownLatch(1);
+
+        jobService.submit(200, false, 9_101L, SimulationMode.MONTE_CARLO, null, stream, job -> {
+            stream.finished(job);
+            streamedTournamentDone.countDown();
+        });
+        List<MatchupResult> concurrent = assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> matchupService.runFullTournament(200, false, 9_102L, SimulationMode.MONTE_CARLO, null));
+
+        assertEquals(total, concurrent.size());
+        assertTrue(streamedTournamentDone.await(30, TimeUnit.SECONDS));
+        assertFalse(stream.isCancelled());
+    }
+
+    // Keeps just the event names, in send order
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder){
+            for (var part : builder.build()) {
+                if (part.getData() instanceof String text && text.startsWith("event:")) {
+                    events.add(text.substring("event:".length(), text.indexOf('\n')));
+                }
+            }
+        }
+    }
+}
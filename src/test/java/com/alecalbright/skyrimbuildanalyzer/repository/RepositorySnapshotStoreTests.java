@@ -0,0 +1,72 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorWeight;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyCategory;
+import com.alecalbright.skyrimbuildanalyzer.model.EnemyDefinition;
+import com.alecalbright.skyrimbuildanalyzer.model.Perk;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RepositorySnapshotStoreTests {
+
+    @Test
+    void exportedSnapshotIsInstalledAtStartup(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("snapshot/repository.json");
+        WeaponRepository weapons = new WeaponRepository(false);
+        EnemyRepository enemies = new EnemyRepository(false);
+        weapons.replaceWeapons(List.of(new Weapon("Mace of Molag Bal", 16, 0.9, WeaponType.ONE_HANDED_MACE)));
+        enemies.replaceEnemies(List.of(new EnemyDefinition("Dremora Valkynaz", 36, 700, 300, 200,
+            EnemyCategory.DAEDRA, "Mace of Molag Bal", "Daedric Armor", null, List.of(Perk.ARMSMAN_3))));
+        new RepositorySnapshotStore(new ObjectMapper(), weapons, new ArmorRepository(), enemies, file.toString())
+            .export();
+
+        WeaponRepository restartedWeapons = new WeaponRepository(false);
+        ArmorRepository restartedArmor = new ArmorRepository();
+        EnemyRepository restartedEnemies = new EnemyRepository(false);
+        RepositorySnapshotStore restarted = new RepositorySnapshotStore(new ObjectMapper(),
+            restartedWeapons, restartedArmor, restartedEnemies, file.toString());
+        restarted.loadAtStartup();
+
+        assertTrue(restarted.isLoadedFromSnapshot());
+        assertEquals(weapons.getAllWeapons(), restartedWeapons.getAllWeapons());
+        assertEquals(new ArmorRepository().getAllArmor().size(), restartedArmor.getAllArmor().size());
+        assertEquals(new ArmorRepository().getBestShieldByWeight(ArmorWeight.HEAVY),
+            restartedArmor.getBestShieldByWeight(ArmorWeight.HEAVY));
+        EnemyDefinition valkynaz = restartedEnemies.getEnemyByName("dremora valkynaz");
+        assertEquals(List.of(Perk.ARMSMAN_3), valkynaz.getPerks());
+        assertEquals(700, valkynaz.getHealth());
+        assertEquals(List.of("Dremora Valkynaz"), restartedEnemies.getEnemyNames());
+    }
+
+    @Test
+    void newerFormatIsRejectedAndBundledDataIsKept(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("repository.json");
+        Files.writeString(file, "{\"format\": 99, \"weapons\": []}", StandardCharsets.UTF_8);
+        WeaponRepository weapons = new WeaponRepository(false);
+        RepositorySnapshotStore store = new RepositorySnapshotStore(new ObjectMapper(),
+            weapons, new ArmorRepository(), new EnemyRepository(false), file.toString());
+
+        store.loadAtStartup();
+
+        assertFalse(store.isLoadedFromSnapshot());
+        assertTrue(weapons.getWeaponCount() > 20, "bundled weapons load on first use");
+        assertThrows(IllegalArgumentException.class,
+            () -> store.read(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))));
+    }
+}
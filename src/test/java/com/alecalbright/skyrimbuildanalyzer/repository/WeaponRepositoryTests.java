@@ -0,0 +1,87 @@
+package com.alecalbright.skyrimbuildanalyzer.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+class WeaponRepositoryTests {
+
+    @Test
+    void readersKeepTheOldSnapshotWhileAReloadIsInProgress() throws Exception {
+        WeaponRepository repository = new WeaponRepository(false);
+        assertNotNull(repository.getWeapon("Iron Sword"));
+        int version = repository.getDataVersion();
+
+        // A replacement whose contents can't be read until the test lets it, like a slow scrape
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Weapon> slowReplacement = new AbstractList<>() {
+            @Override
+            public Weapon get(int index){
+                reloading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Weapon("Mace of Molag Bal", 16, 0.9, WeaponType.ONE_HANDED_MACE);
+            }
+
+            @Override
+            public int size(){
+                return 1;
+            }
+        };
+
+        CompletableFuture<Void> reload = CompletableFuture.runAsync(() -> repository.replaceWeapons(slowReplacement));
+        assertTrue(reloading.await(10, TimeUnit.SECONDS));
+
+        // Reads don't wait on the reload and never see half of it
+        CompletableFuture<Weapon> read = CompletableFuture.supplyAsync(() -> repository.getWeapon("Iron Sword"));
+        assertNotNull(read.get(10, TimeUnit.SECONDS));
+        assertNull(repository.getWeapon("Mace of Molag Bal"));
+        assertEquals(version, repository.getDataVersion());
+
+        release.countDown();
+        reload.get(10, TimeUnit.SECONDS);
+
+        assertNull(repository.getWeapon("Iron Sword"));
+        assertNotNull(repository.getWeapon("mace of molag bal"));
+        assertEquals(1, repository.getWeaponCount());
+        assertEquals(version + 1, repository.getDataVersion());
+    }
+
+    @Test
+    void typeIndexesAreRebuiltWithEachSnapshot(){
+        WeaponRepository repository = new WeaponRepository(false);
+        repository.replaceWeapons(List.of(
+            new Weapon("Ebony Bow", 19, 1.0, WeaponType.BOW),
+            new Weapon("Daedric Bow", 19, 1.0, WeaponType.BOW),
+            new Weapon("Hunting Bow", 7, 1.0, WeaponType.BOW),
+            new Weapon("Iron Dagger", 4, 1.3, WeaponType.ONE_HANDED_DAGGER)
+        ));
+
+        assertEquals(3, repository.getWeaponsByType(WeaponType.BOW).size());
+        assertTrue(repository.getWeaponsByType(WeaponType.CROSSBOW).isEmpty());
+        // Equal DPS falls to name order, so the pick doesn't depend on map iteration
+        assertEquals("Daedric Bow", repository.getBestWeaponByType(WeaponType.BOW).getName());
+        assertNull(repository.getBestWeaponByType(WeaponType.CROSSBOW));
+
+        repository.replaceWeapons(List.of(new Weapon("Iron Dagger", 4, 1.3, WeaponType.ONE_HANDED_DAGGER)));
+        assertTrue(repository.getWeaponsByType(WeaponType.BOW).isEmpty());
+        assertNull(repository.getBestWeaponByType(WeaponType.BOW));
+        assertEquals("Iron Dagger", repository.getBestWeaponByType(WeaponType.ONE_HANDED_DAGGER).getName());
+    }
+}
@@ -0,0 +1,97 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.alecalbright.skyrimbuildanalyzer.TestFighters;
+import com.alecalbright.skyrimbuildanalyzer.archetype.CharacterArchetype;
+import com.alecalbright.skyrimbuildanalyzer.model.Armor;
+import com.alecalbright.skyrimbuildanalyzer.model.ArmorType;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+class MatchupMatrixTests {
+
+    @Autowired
+    private ArchetypeMatchupService matchupService;
+
+    @Autowired
+    private MatchupMatrix matchupMatrix;
+
+    @Autowired
+    private TournamentCache tournamentCache;
+
+    @Test
+    void growingThePoolOnlySimulatesTheNewPairs() {
+        // Unseeded, as the frontend sends it, and a fight count no other test uses, so every
+        // archetype pair starts unsimulated
+        int fights = 37;
+        List<MatchupResult> archetypes = matchupService.runFullTournament(fights, false, null);
+        MatchupMatrix.Stats before = matchupMatrix.getStats();
+
+        List<MatchupResult> everyone = matchupService.runFullTournament(fights, true, null);
+        MatchupMatrix.Stats after = matchupMatrix.getStats();
+
+        assertEquals(archetypes.size(), after.reused() - before.reused());
+        assertEquals(everyone.size() - archetypes.size(), after.simulated() - before.simulated());
+        for (MatchupResult m : archetypes) {
+            assertTrue(everyone.stream().anyMatch(e -> e == m), m.toString());
+        }
+    }
+
+    @Test
+    void seededCellsAreOnlyKeptOnceTheSeedComesBack() {
+        MatchupMatrix.Stats before = matchupMatrix.getStats();
+        List<MatchupResult> first = matchupService.runFullTournament(41, false, 9001L);
+        MatchupMatrix.Stats afterFirst = matchupMatrix.getStats();
+        assertEquals(before.size(), afterFirst.size());
+
+        // Same seed again, over a bigger pool: played in full this time, and kept
+        tournamentCache.clear();
+        List<MatchupResult> second = matchupService.runFullTournament(41, true, 9001L);
+        MatchupMatrix.Stats afterSecond = matchupMatrix.getStats();
+        assertEquals(afterFirst.reused(), afterSecond.reused());
+        assertEquals(afterFirst.size() + second.size(), afterSecond.size());
+
+        // Seeded pairs replay the same fights, so the kept cells match the first run
+        tournamentCache.clear();
+        List<MatchupResult> third = matchupService.runFullTournament(41, false, 9001L);
+        assertEquals(afterSecond.reused() + first.size(), matchupMatrix.getStats().reused());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).simulationResult(), third.get(i).simulationResult());
+        }
+    }
+
+    @Test
+    void changedFighterRetiresItsCells() {
+        MatchupMatrix matrix = new MatchupMatrix(new MatchupStore(new ObjectMapper(), "", 1000), 100, 600);
+        FighterTemplate assassin = FighterTemplate.of(TestFighters.assassin());
+        FighterTemplate archer = FighterTemplate.of(TestFighters.stealthArcher());
+        FighterTemplate rearmedArcher = FighterTemplate.of(CharacterArchetype.STEALTH_ARCHER.create(
+            new Weapon("Auriel's Bow", 13, 1.5, WeaponType.BOW),
+            new Armor("Elven Armor", 82, ArmorType.ELVEN), null));
+
+        MatchupMatrix.Cell cell = new MatchupMatrix.Cell(
+            "Assassin", "Stealth Archer", 100, 1L, SimulationMode.MONTE_CARLO, null);
+        MatchupResult result = new MatchupResult("Assassin", "Stealth Archer", null, 60.0, 5.0);
+        matrix.put(cell, assassin, archer, result);
+
+        assertSame(result, matrix.get(cell, assassin, archer));
+        assertNull(matrix.get(cell, assassin, rearmedArcher));
+        assertNull(matrix.get(cell, assassin, archer));
+        assertEquals(1, matrix.getStats().stale());
+    }
+}
@@ -0,0 +1,133 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.alecalbright.skyrimbuildanalyzer.TestFighters;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.CombatSimulator;
+import com.alecalbright.skyrimbuildanalyzer.simulation.ExactCombatEngine;
+import com.alecalbright.skyrimbuildanalyzer.simulation.MultiSimulationResult;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MatchupStoreTests {
+
+    private final FighterTemplate assassin = FighterTemplate.of(TestFighters.assassin());
+    private final FighterTemplate archer = FighterTemplate.of(TestFighters.stealthArcher());
+
+    @Test
+    void restartedMatrixServesStoredMatchups(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("store/matchups.jsonl");
+        MultiSimulationResult sim = new CombatSimulator().simulateMultipleFights(assassin, archer, 500, 8L);
+        MatchupResult sampled = new MatchupResult("Assassin", "Stealth Archer", sim, sim.fighter1WinRate(), 4.2);
+        MatchupResult exact = MatchupResult.exact(
+            new ExactCombatEngine(256).solve(assassin.profile(), archer.profile()), 500);
+        MatchupMatrix.Cell sampledCell = cell(SimulationMode.MONTE_CARLO, 8L);
+        MatchupMatrix.Cell exactCell = cell(SimulationMode.EXACT, null);
+
+        MatchupStore store = new MatchupStore(new ObjectMapper(), file.toString(), 1000);
+        MatchupMatrix matrix = new MatchupMatrix(store, 100, 600);
+        matrix.put(sampledCell, assassin, archer, sampled);
+        matrix.put(exactCell, assassin, archer, exact);
+        store.close();
+
+        // Fighters are stored by fingerprint, and the exact turn distribution only as far as fights go
+        for (String line : Files.readAllLines(file)) {
+            assertFalse(line.contains("\"profile\""), line);
+            assertTrue(line.length() < 4096, "line of " + line.length() + " chars");
+        }
+
+        // A crash mid-append leaves a partial line behind
+        Files.writeString(file, "{\"cell\":{\"fighter1\":\"Assa", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        MatchupMatrix restarted = new MatchupMatrix(new MatchupStore(new ObjectMapper(), file.toString(), 1000), 100, 600);
+        assertEquals(2, restarted.getStats().loaded());
+        assertEquals(sampled, restarted.get(sampledCell, assassin, archer));
+        MatchupResult reloadedExact = restarted.get(exactCell, assassin, archer);
+        assertNotNull(reloadedExact);
+        assertTrue(reloadedExact.isExact());
+        assertEquals(exact.fighter1WinRate(), reloadedExact.fighter1WinRate());
+    }
+
+    @Test
+    void mostlySupersededLogIsCompactedOnLoad(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("matchups.jsonl");
+        MatchupStore store = new MatchupStore(new ObjectMapper(), file.toString(), 1000);
+        MatchupMatrix.Cell cell = cell(SimulationMode.MONTE_CARLO, 1L);
+        for (int i = 0; i < 5; i++) {
+            store.append(record(cell, new MatchupResult("Assassin", "Stealth Archer", null, 10.0 * i, 1.0), 0L));
+        }
+        store.close();
+
+        List<MatchupStore.Record> live = new MatchupStore(new ObjectMapper(), file.toString(), 1000).load(100);
+
+        assertEquals(1, live.size());
+        assertEquals(40.0, live.get(0).result().fighter1WinRate());
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void logStaysWithinTheMatrixLimitWhileRunning(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("matchups.jsonl");
+        MatchupStore store = new MatchupStore(new ObjectMapper(), file.toString(), 10);
+        MatchupMatrix matrix = new MatchupMatrix(store, 5, 600);
+        for (long seed = 0; seed < 25; seed++) {
+            matrix.put(cell(SimulationMode.MONTE_CARLO, seed), assassin, archer,
+                new MatchupResult("Assassin", "Stealth Archer", null, seed, 1.0));
+        }
+        store.close();
+
+        // Rewritten to the five live cells at the 10th and 20th appends, then five more appended
+        assertEquals(2, store.getCompactionCount());
+        assertEquals(10, Files.readAllLines(file).size());
+
+        MatchupMatrix restarted = new MatchupMatrix(new MatchupStore(new ObjectMapper(), file.toString(), 10), 5, 600);
+        assertEquals(5, restarted.getStats().loaded());
+        for (long seed = 20; seed < 25; seed++) {
+            assertNotNull(restarted.get(cell(SimulationMode.MONTE_CARLO, seed), assassin, archer));
+        }
+        assertEquals(5, Files.readAllLines(file).size());
+    }
+
+    @Test
+    void unseededCellsOlderThanTheirTtlAreNotReloaded(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("matchups.jsonl");
+        MatchupStore store = new MatchupStore(new ObjectMapper(), file.toString(), 1000);
+        MatchupResult result = new MatchupResult("Assassin", "Stealth Archer", null, 55.0, 1.0);
+        long now = System.currentTimeMillis();
+        long hoursAgo = now - 2 * 3_600_000;
+        store.append(record(cell(SimulationMode.MONTE_CARLO, null), result, hoursAgo));
+        store.append(record(cell(SimulationMode.ADAPTIVE, null), result, now));
+        store.append(record(cell(SimulationMode.EXACT, null), result, hoursAgo));
+        store.close();
+
+        MatchupMatrix restarted = new MatchupMatrix(new MatchupStore(new ObjectMapper(), file.toString(), 1000), 100, 600);
+        assertEquals(2, restarted.getStats().loaded());
+        assertNull(restarted.get(cell(SimulationMode.MONTE_CARLO, null), assassin, archer));
+        assertEquals(result, restarted.get(cell(SimulationMode.ADAPTIVE, null), assassin, archer));
+        assertEquals(result, restarted.get(cell(SimulationMode.EXACT, null), assassin, archer));
+    }
+
+    private MatchupStore.Record record(MatchupMatrix.Cell cell, MatchupResult result, long simulatedAt){
+        return new MatchupStore.Record(cell, assassin.fingerprint(), archer.fingerprint(), result, simulatedAt);
+    }
+
+    private static MatchupMatrix.Cell cell(SimulationMode mode, Long seed){
+        return new MatchupMatrix.Cell("Assassin", "Stealth Archer", 500, seed, mode, null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(pool.submit(() -> flights.execute("matchup", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            })));
+            started.await();
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> flights.execute("matchup", () -> runs.incrementAndGet() + 1000)));
+            }
+
+            // Let every follower join the in-flight computation before the leader finishes
+            while (flights.coalescedCount() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+            assertEquals(0, flights.inFlightCount());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failureReachesCallerAndIsNotRemembered() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> flights.execute("bad", () -> { throw new IllegalArgumentException("Unknown fighter"); }));
+        assertEquals(7, flights.execute("bad", () -> 7));
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.alecalbright.skyrimbuildanalyzer.model.MatchupResult;
+import com.alecalbright.skyrimbuildanalyzer.repository.DataVersion;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+class TournamentCacheTests {
+
+    private static TournamentCache.Key key(long seed, int dataVersion){
+        return new TournamentCache.Key(100, false, seed, SimulationMode.MONTE_CARLO, null,
+            new DataVersion(dataVersion, 1, 1));
+    }
+
+    @Test
+    void repeatCallsHitAndLeastRecentlyUsedIsEvicted() {
+        TournamentCache cache = new TournamentCache(2, 600);
+        AtomicInteger runs = new AtomicInteger();
+
+        List<MatchupResult> first = cache.getOrCompute(key(1, 1), () -> { runs.incrementAndGet(); return List.of(); });
+        assertSame(first, cache.getOrCompute(key(1, 1), () -> { runs.incrementAndGet(); return List.of(); }));
+        assertEquals(1, runs.get());
+
+        cache.getOrCompute(key(2, 1), List::of);
+        cache.get(key(1, 1));
+        cache.getOrCompute(key(3, 1), List::of);
+
+        // Seed 2 was the least recently used when seed 3 arrived
+        assertNull(cache.get(key(2, 1)));
+        TournamentCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.hits());
+        assertEquals(4, stats.misses());
+    }
+
+    @Test
+    void newDataVersionOrExpiredEntryMisses() {
+        TournamentCache cache = new TournamentCache(8, 0);
+
+        cache.getOrCompute(key(1, 1), List::of);
+        assertNull(cache.get(key(1, 2)));
+        assertNull(cache.get(key(1, 1)));
+        assertEquals(1, cache.getStats().expirations());
+    }
+}
@@ -0,0 +1,57 @@
+package com.alecalbright.skyrimbuildanalyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.alecalbright.skyrimbuildanalyzer.dto.TournamentJobResponse;
+import com.alecalbright.skyrimbuildanalyzer.simulation.SimulationMode;
+
+@SpringBootTest
+class TournamentJobServiceTests {
+
+    @Autowired
+    private TournamentJobService jobService;
+
+    @Test
+    void finishedJobReportsEveryMatchup() throws InterruptedException {
+        TournamentJobResponse job = jobService.submit(50, false, 9L, SimulationMode.MONTE_CARLO, null);
+        TournamentJobResponse done = awaitFinished(job.id());
+
+        assertEquals(TournamentJobResponse.Status.COMPLETED, done.status());
+        assertNotNull(done.result());
+        assertTrue(done.matchupsTotal() > 0);
+        assertEquals(done.matchupsTotal(), done.matchupsDone());
+        assertEquals(done.matchupsTotal(), done.completedMatchups().size());
+    }
+
+    @Test
+    void cancelledJobStopsBetweenMatchups() throws InterruptedException {
+        // Millions of fights per matchup, so the tournament is nowhere near done when cancelled
+        TournamentJobResponse job = jobService.submit(5_000_000, false, 4L, SimulationMode.MONTE_CARLO, null);
+        jobService.cancel(job.id());
+        TournamentJobResponse done = awaitFinished(job.id());
+
+        assertEquals(TournamentJobResponse.Status.CANCELLED, done.status());
+        assertTrue(done.matchupsDone() < done.matchupsTotal() || done.matchupsTotal() == 0);
+        assertEquals(done.matchupsDone(), done.completedMatchups().size());
+
+        assertThrows(ResponseStatusException.class, () -> jobService.getJob("no-such-job"));
+    }
+
+    private TournamentJobResponse awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        TournamentJobResponse job = jobService.getJob(id);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = jobService.getJob(id);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,116 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.alecalbright.skyrimbuildanalyzer.TestFighters;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.service.ArchetypeMatchupService;
+
+// Bytes allocated per fight and per tournament matchup, measured on the test thread with
+// ThreadMXBean after a warm-up long enough for the JIT to settle. Each case fails when it goes
+// over its budget; override one with -Dallocation.budget.<case>=<bytes>, e.g.
+//   mvn test -Dtest=AllocationBudgetTests -Dallocation.budget.fight-with-event-log=4096
+//
+// Tournament parallelism is 1 so every matchup runs on this thread, and the cache and matrix
+// are off so every tournament simulates every pair.
+@SpringBootTest(properties = {
+    "simulation.tournament.parallelism=1",
+    "simulation.tournament.cache.max-entries=0",
+    "simulation.matrix.max-cells=0"
+})
+class AllocationBudgetTests {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final CombatSimulator simulator = new CombatSimulator();
+
+    private static Character warrior;
+    private static Character archer;
+    private static FighterTemplate warriorTemplate;
+    private static FighterTemplate archerTemplate;
+
+    // Keeps results live so the JIT can't discard the work being measured
+    private long sink;
+
+    @Autowired
+    private ArchetypeMatchupService matchupService;
+
+    @BeforeAll
+    static void fighters() {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "JVM can't report per-thread allocation");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        warrior = TestFighters.twoHandedWarrior();
+        archer = TestFighters.stealthArcher();
+        warriorTemplate = FighterTemplate.of(warrior);
+        archerTemplate = FighterTemplate.of(archer);
+    }
+
+    // The public Character entry point: compiles templates and records the turn-by-turn log
+    @Test
+    void fightWithEventLog() {
+        double perFight = bytesPerOperation(20_000, i ->
+            sink += simulator.simulateFight(warrior, archer, i).combatEvents().size());
+        assertWithinBudget("fight-with-event-log", 4_096, perFight);
+    }
+
+    // Shared templates, tallies only: what encounters play for every fight
+    @Test
+    void fightFromTemplates() {
+        double perFight = bytesPerOperation(50_000, i -> sink += simulator.simulateFight(
+            warriorTemplate.newState(), archerTemplate.newState(), new SplittableRandom(i), false).totalTurns());
+        assertWithinBudget("fight-from-templates", 512, perFight);
+    }
+
+    // Summary batches on the lockstep kernel, spread over their fights
+    @Test
+    void fightInSummaryBatch() {
+        int fightsPerBatch = 10_000;
+        double perBatch = bytesPerOperation(200, i -> sink += simulator.simulateMultipleFights(
+            warriorTemplate, archerTemplate, fightsPerBatch, i).fighter1Wins());
+        assertWithinBudget("fight-in-summary-batch", 16, perBatch / fightsPerBatch);
+    }
+
+    // A whole archetype round robin through the service, spread over its matchups
+    @Test
+    void tournamentMatchup() {
+        int matchups = matchupService.getAllFighterNames(false).size();
+        matchups = matchups * (matchups - 1) / 2;
+
+        double perTournament = bytesPerOperation(100, i -> sink += matchupService
+            .runFullTournament(200, false, (long) i, SimulationMode.MONTE_CARLO).size());
+        assertWithinBudget("tournament-matchup", 65_536, perTournament / matchups);
+    }
+
+    private double bytesPerOperation(int operations, IntConsumer operation) {
+        for (int i = 0; i < operations; i++) {
+            operation.accept(i);
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = operations; i < 2 * operations; i++) {
+            operation.accept(i);
+        }
+        long after = THREADS.getThreadAllocatedBytes(thread);
+        return (double) (after - before) / operations;
+    }
+
+    private static void assertWithinBudget(String name, long defaultBudget, double measured) {
+        long budget = Long.getLong("allocation.budget." + name, defaultBudget);
+        assertTrue(measured <= budget, String.format(
+            "%s allocated %.0f bytes, over its budget of %d (-Dallocation.budget.%s)",
+            name, measured, budget, name));
+    }
+}
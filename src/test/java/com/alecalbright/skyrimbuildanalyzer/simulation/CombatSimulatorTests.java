@@ -0,0 +1,164 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.alecalbright.skyrimbuildanalyzer.TestFighters;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterState;
+import com.alecalbright.skyrimbuildanalyzer.model.FighterTemplate;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+class CombatSimulatorTests {
+
+    private final CombatSimulator simulator = new CombatSimulator();
+
+    @Test
+    void batchKernelMatchesScalarLoopFightForFight() {
+        Character[] fighters = {
+            TestFighters.assassin(),
+            TestFighters.paladin(),
+            TestFighters.stealthArcher(),
+            new Character("Mudcrab", 1500, 50, 0, new Weapon("Pincer", 0.05, 1.0, WeaponType.ONE_HANDED_MACE)),
+            new Character("Giant Mudcrab", 2500, 50, 0, new Weapon("Claw", 0.1, 1.0, WeaponType.ONE_HANDED_MACE))
+        };
+
+        // 1,200 fights spans several kernel blocks; the two mudcrabs only ever draw on the turn cap
+        for (Character c1 : fighters) {
+            for (Character c2 : fighters) {
+                if (c1 == c2) continue;
+
+                MultiSimulationResult batch = simulator.simulateMultipleFights(c1, c2, 1200, 7L, false);
+                MultiSimulationResult scalar = simulator.simulateMultipleFights(c1, c2, 1200, 7L, true);
+
+                assertEquals(scalar.fighter1Wins(), batch.fighter1Wins());
+                assertEquals(scalar.fighter2Wins(), batch.fighter2Wins());
+                assertEquals(scalar.draws(), batch.draws());
+                // Both paths fold the same fights in the same order, so even the running means match exactly
+                assertEquals(scalar.statistics(), batch.statistics());
+                assertEquals(1200, scalar.allFights().size());
+                assertTrue(batch.allFights().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void adaptiveBatchReplaysFixedBatchPrefixAndStopsEarly() {
+        Character assassin = TestFighters.assassin();
+        Character mudcrab = new Character("Mudcrab", 50, 50, 0, new Weapon("Pincer", 2, 1.0, WeaponType.ONE_HANDED_MACE));
+
+        // Settles once fighter 1 has won 150 fights, which takes two chunks of a one-sided matchup
+        MultiSimulationResult adaptive = simulator.simulateUntilSettled(
+            assassin, mudcrab, 100, 5000, 3L, (wins1, wins2, fights) -> wins1 >= 150);
+        MultiSimulationResult fixed = simulator.simulateMultipleFights(assassin, mudcrab, 200, 3L);
+
+        assertEquals(200, adaptive.totalFights());
+        assertTrue(adaptive.fighter1Wins() >= 150);
+        assertEquals(fixed, adaptive);
+    }
+
+    @Test
+    void summaryBatchesStreamPastTheEventLogLimit() {
+        Character warrior = TestFighters.twoHandedWarrior();
+        Character archer = TestFighters.stealthArcher();
+
+        MultiSimulationResult result = simulator.simulateMultipleFights(warrior, archer, 200_000, 5L);
+
+        assertEquals(200_000, result.totalFights());
+        assertEquals(result.totalFights(), result.fighter1Wins() + result.fighter2Wins() + result.draws());
+        assertTrue(result.allFights().isEmpty());
+        assertTrue(result.shortestFightDuration() <= result.averageFightDuration());
+        assertTrue(result.averageFightDuration() <= result.longestFightDuration());
+        assertTrue(result.fightDurationStandardDeviation() > 0);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> simulator.simulateMultipleFights(warrior, archer, 10_001, 5L, true));
+    }
+
+    @Test
+    void sharedTemplatesFightLikeFreshCharacters() {
+        Character paladin = TestFighters.paladin();
+        Character berserker = TestFighters.berserker();
+        FighterTemplate paladinTemplate = FighterTemplate.of(paladin);
+        FighterTemplate berserkerTemplate = FighterTemplate.of(berserker);
+
+        for (long seed = 0; seed < 50; seed++) {
+            FightResult expected = simulator.simulateFight(paladin, berserker, seed);
+            FighterState state1 = paladinTemplate.newState();
+            FighterState state2 = berserkerTemplate.newState();
+            FightResult actual = simulator.simulateFight(state1, state2, new SplittableRandom(seed), true);
+
+            assertEquals(expected.winnerName(), actual.winnerName());
+            assertEquals(expected.fighter1Tally(), actual.fighter1Tally());
+            assertEquals(expected.fighter2Tally(), actual.fighter2Tally());
+            assertEquals(paladin.getHealth(), state1.getHealth());
+            assertEquals(berserker.getHealth(), state2.getHealth());
+        }
+        assertEquals(FighterTemplate.of(paladin), paladinTemplate);
+    }
+
+    @Test
+    void countsFightsAndTurnsOncePerFight() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CombatSimulator instrumented = new CombatSimulator(registry);
+        FighterTemplate assassin = FighterTemplate.of(TestFighters.assassin());
+        FighterTemplate archer = FighterTemplate.of(TestFighters.stealthArcher());
+
+        MultiSimulationResult kernel = instrumented.simulateMultipleFights(assassin, archer, 1500, 9L);
+        MultiSimulationResult logged = instrumented.simulateMultipleFights(assassin, archer, 200, 9L, true);
+        FightResult single = instrumented.simulateFight(assassin.newState(), archer.newState(), new SplittableRandom(9L), false);
+
+        long expectedTurns = Math.round(kernel.averageFightDuration() * 1500)
+            + Math.round(logged.averageFightDuration() * 200)
+            + single.totalTurns();
+        assertEquals(1701, registry.get("simulation.fights").counter().count());
+        assertEquals(expectedTurns, registry.get("simulation.turns").counter().count(), 1e-6);
+        assertEquals(2, registry.get("simulation.batch").tag("kind", "fixed").timer().count());
+    }
+
+    @Test
+    void batchesEmitJfrEventsWhileRecording() throws Exception {
+        FighterTemplate paladin = FighterTemplate.of(TestFighters.paladin());
+        FighterTemplate mudcrab = FighterTemplate.of(
+            new Character("Mudcrab", 50, 50, 0, new Weapon("Pincer", 2, 1.0, WeaponType.ONE_HANDED_MACE)));
+
+        // Nothing is recording yet, so this batch leaves no event behind
+        simulator.simulateMultipleFights(paladin, mudcrab, 100, 1L);
+
+        Path file = Files.createTempFile("simulation-batch", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.alecalbright.skyrimbuildanalyzer.SimulationBatch").withThreshold(Duration.ZERO);
+            recording.start();
+            simulator.simulateMultipleFights(paladin, mudcrab, 300, 1L);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals(paladin.name(), event.getString("fighter1"));
+            assertEquals("Mudcrab", event.getString("fighter2"));
+            assertEquals("fixed", event.getString("kind"));
+            assertEquals(300, event.getInt("fights"));
+            assertTrue(event.getLong("turns") >= 300);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
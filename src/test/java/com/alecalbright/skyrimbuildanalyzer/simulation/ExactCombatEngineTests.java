@@ -0,0 +1,70 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.alecalbright.skyrimbuildanalyzer.TestFighters;
+import com.alecalbright.skyrimbuildanalyzer.model.Character;
+import com.alecalbright.skyrimbuildanalyzer.model.Weapon;
+import com.alecalbright.skyrimbuildanalyzer.model.WeaponType;
+
+class ExactCombatEngineTests {
+
+    private final CombatSimulator simulator = new CombatSimulator();
+    private final ExactCombatEngine engine = new ExactCombatEngine(1024);
+
+    @Test
+    void exactWinRatesAgreeWithMonteCarlo() {
+        Character[] fighters = {
+            TestFighters.twoHandedWarrior(),
+            TestFighters.paladin(),
+            TestFighters.berserker(),
+            TestFighters.stealthArcher()
+        };
+
+        int fights = 10000;
+        for (int i = 0; i < fighters.length; i++) {
+            for (int j = i + 1; j < fighters.length; j++) {
+                ExactFightDistribution exact = engine.solve(fighters[i], fighters[j]);
+                MultiSimulationResult sampled = simulator.simulateMultipleFights(fighters[i], fighters[j], fights, 11L);
+
+                double p = exact.fighter1WinProbability();
+                double tolerance = 4 * Math.sqrt(p * (1 - p) / fights) * 100.0 + 0.1;
+                assertEquals(sampled.fighter1WinRate(), exact.fighter1WinRate(), tolerance, exact.toString());
+                assertEquals(sampled.averageFightDuration(), exact.averageFightDuration(),
+                    0.05 * sampled.averageFightDuration(), exact.toString());
+            }
+        }
+    }
+
+    @Test
+    void decisiveMatchupsOnlyCarryTheTurnsTheyReach() {
+        ExactFightDistribution exact = engine.solve(TestFighters.twoHandedWarrior(), TestFighters.stealthArcher());
+
+        double total = 0.0;
+        for (double p : exact.turnProbabilities()) {
+            total += p;
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(exact.longestFightDuration() + 1, exact.turnProbabilities().length);
+        assertTrue(exact.turnProbabilities().length < CombatSimulator.MAX_TURNS / 10, exact.toString());
+    }
+
+    @Test
+    void turnProbabilitiesSumToOne() {
+        Character weak = new Character("Mudcrab", 1500, 50, 0, new Weapon("Pincer", 0.5, 1.0, WeaponType.ONE_HANDED_MACE));
+        Character alsoWeak = new Character("Skeever", 1200, 50, 0, new Weapon("Bite", 0.4, 1.0, WeaponType.ONE_HANDED_MACE));
+
+        ExactFightDistribution exact = engine.solve(weak, alsoWeak);
+
+        double total = 0.0;
+        for (double p : exact.turnProbabilities()) {
+            total += p;
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(1.0, exact.fighter1WinProbability() + exact.fighter2WinProbability() + exact.drawProbability(), 1e-9);
+        assertTrue(exact.drawProbability() > 0.99, "both sides need thousands of hits, so the turn cap decides");
+    }
+}
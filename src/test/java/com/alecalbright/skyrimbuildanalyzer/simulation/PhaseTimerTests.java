@@ -0,0 +1,50 @@
+package com.alecalbright.skyrimbuildanalyzer.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+
+class PhaseTimerTests {
+
+    @Test
+    void innerPhasesPauseTheOuterOne() {
+        PhaseTimer timer = PhaseTimer.start();
+
+        timer.begin("aggregation");
+        LockSupport.parkNanos(5_000_000);
+        timer.time("simulation", () -> {
+            LockSupport.parkNanos(20_000_000);
+            return null;
+        });
+        timer.end();
+        timer.countFights(3);
+
+        Map<String, Double> phases = timer.phaseMillis();
+        assertEquals(List.of("aggregation", "simulation"), List.copyOf(phases.keySet()));
+        assertTrue(phases.get("simulation") >= 20.0);
+        // The 20ms spent in simulation isn't also charged to aggregation
+        assertTrue(phases.get("aggregation") >= 5.0 && phases.get("aggregation") < 20.0, phases.toString());
+        assertEquals(phases.get("aggregation") + phases.get("simulation"), timer.totalMillis(), 1e-9);
+
+        String header = timer.toServerTiming();
+        assertTrue(header.matches(
+            "aggregation;dur=\\d+\\.\\d{3}, simulation;dur=\\d+\\.\\d{3};desc=\"3 fights\", total;dur=\\d+\\.\\d{3}"),
+            header);
+    }
+
+    @Test
+    void noneRecordsNothing() {
+        PhaseTimer.NONE.begin("simulation");
+        PhaseTimer.NONE.countFights(10);
+        PhaseTimer.NONE.end();
+
+        assertTrue(PhaseTimer.NONE.phaseMillis().isEmpty());
+        assertEquals(0, PhaseTimer.NONE.fights());
+        assertEquals(0.0, PhaseTimer.NONE.totalMillis());
+    }
+}